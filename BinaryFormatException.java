@@ -0,0 +1,108 @@
+package Molecularize;
+
+/*-------------------------------------------------*\
+	This class handles invalid BinaryReader input.
+\*-------------------------------------------------*/
+
+public class BinaryFormatException extends Exception {
+
+	//-----------------[Constant declaration begins here]----------------//
+
+	private static final long serialVersionUID = 1L;
+
+	//Possible reasons for an error
+	public enum ExceptionType {
+		INVALID_HEADER,         //Missing or unrecognized header
+		UNSUPPORTED_VERSION,    //Header of a newer version of the format
+		UNEXPECTED_RECORD,      //Record of a different type than expected
+		INVALID_VARINT,         //Variable-length integer longer than five bytes or 32 bits
+		INVALID_LENGTH,         //Length that does not match the data
+		UNEXPECTED_END          //Data ends in the middle of a record
+	}
+
+	//Error messages
+	public static final String INVALID_HEADER_MESSAGE      =
+			"Expecting binary data header at index ";
+	public static final String UNSUPPORTED_VERSION_MESSAGE =
+			"Unsupported binary data version at index ";
+	public static final String UNEXPECTED_RECORD_MESSAGE   =
+			"Unexpected record type at index ";
+	public static final String INVALID_VARINT_MESSAGE      =
+			"Invalid variable-length integer at index ";
+	public static final String INVALID_LENGTH_MESSAGE      =
+			"Invalid length at index ";
+	public static final String UNEXPECTED_END_MESSAGE      =
+			"Unexpected end of data at index ";
+
+	//------------------[Constant declaration ends here]-----------------//
+
+
+
+	//-----------------[Variable declaration begins here]----------------//
+
+	private long          index;            //Index in the stream of the byte that caused the error
+	private ExceptionType errorReason;      //Reason for the error
+	private String        message;          //Error message, created when first requested
+
+	//------------------[Variable declaration ends here]-----------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	private BinaryFormatException (long index, ExceptionType errorReason, boolean lightweight) {
+		super(null, null, !lightweight, !lightweight);
+		this.index       = index;
+		this.errorReason = errorReason;
+		this.message     = null;
+	}
+
+	public static BinaryFormatException create (long index, ExceptionType errorReason) {
+		return new BinaryFormatException(index, errorReason, ExceptionSettings.isLightweight());
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//----------------------[Accessors begin here]-----------------------//
+
+	public long getIndex() {
+		return index;
+	}
+
+	public ExceptionType getErrorReason() {
+		return errorReason;
+	}
+
+	@Override
+	public String getMessage() {
+		//Create the message when it is first requested
+		if (message == null) {
+			//Determine required message based on the cause of the exception
+			switch (errorReason) {
+				case INVALID_HEADER:
+					message = INVALID_HEADER_MESSAGE      + index;
+					break;
+				case UNSUPPORTED_VERSION:
+					message = UNSUPPORTED_VERSION_MESSAGE + index;
+					break;
+				case UNEXPECTED_RECORD:
+					message = UNEXPECTED_RECORD_MESSAGE   + index;
+					break;
+				case INVALID_VARINT:
+					message = INVALID_VARINT_MESSAGE      + index;
+					break;
+				case INVALID_LENGTH:
+					message = INVALID_LENGTH_MESSAGE      + index;
+					break;
+				default:
+					message = UNEXPECTED_END_MESSAGE      + index;
+			}
+		}
+
+		return message;
+	}
+
+	//-----------------------[Accessors end here]------------------------//
+}
@@ -0,0 +1,251 @@
+package Molecularize;
+
+/*----------------------------------------------------------------------*\
+	This class reads records in the compact binary format written by
+	BinaryWriter. The header is checked when the reader is created,
+	and only a fixed-size buffer of the stream is held in memory at any
+	time. Error indexes are counted from the beginning of the stream.
+\*----------------------------------------------------------------------*/
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class BinaryReader implements Closeable {
+
+	//-----------------[Constant declaration begins here]----------------//
+
+	public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+	//------------------[Constant declaration ends here]-----------------//
+
+
+
+	//------------------[Field declarations begin here]------------------//
+
+	private InputStream in;             //The source of the data
+	private byte[]      buffer;         //The bytes read from the source
+	private int         position;       //The index of the next byte in the buffer
+	private int         limit;          //The number of bytes in the buffer
+	private long        bufferOffset;   //The index in the stream of the first byte in the buffer
+	private int         version;        //The version of the format being read
+
+	//-------------------[Field declarations end here]-------------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	//Begin reading a stream by checking the header
+	public BinaryReader (InputStream in) throws IOException, BinaryFormatException {
+		this.in           = in;
+		this.buffer       = new byte[DEFAULT_BUFFER_SIZE];
+		this.position     = 0;
+		this.limit        = 0;
+		this.bufferOffset = 0;
+
+		//Check for the header
+		for (int i = 0; i < BinaryWriter.MAGIC.length; i++) {
+			if (peek() != (BinaryWriter.MAGIC[i] & 0xFF)) {
+				throw BinaryFormatException.create(
+						getIndex(),
+						BinaryFormatException.ExceptionType.INVALID_HEADER
+				);
+			}
+
+			position++;
+		}
+
+		//Check for a version that can be read
+		this.version = readByte();
+
+		if (version < 1 || version > BinaryWriter.VERSION) {
+			throw BinaryFormatException.create(
+					getIndex() - 1,
+					BinaryFormatException.ExceptionType.UNSUPPORTED_VERSION
+			);
+		}
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//----------------------[Accessors begin here]-----------------------//
+
+	//Get the version of the format given in the header
+	public int getVersion () {
+		return version;
+	}
+
+	//Get the index in the stream of the next byte to be read
+	public long getIndex () {
+		return bufferOffset + position;
+	}
+
+	//-----------------------[Accessors end here]------------------------//
+
+
+
+	//---------------------[Data reading begins here]--------------------//
+
+	//Check whether there is another record in the stream
+	public boolean hasNext () throws IOException {
+		return peek() != -1;
+	}
+
+	//Read the type of the next record, and check that it is the expected type
+	public void readRecord (int recordType) throws IOException, BinaryFormatException {
+		if (readByte() != recordType) {
+			throw BinaryFormatException.create(
+					getIndex() - 1,
+					BinaryFormatException.ExceptionType.UNEXPECTED_RECORD
+			);
+		}
+	}
+
+	public int readByte () throws IOException, BinaryFormatException {
+		int value = peek();
+
+		//Check for the end of the stream
+		if (value == -1) {
+			throw BinaryFormatException.create(
+					getIndex(),
+					BinaryFormatException.ExceptionType.UNEXPECTED_END
+			);
+		}
+
+		position++;
+
+		return value;
+	}
+
+	public byte[] readBytes (int length) throws IOException, BinaryFormatException {
+		//Grow the array as bytes are read, so that a corrupt length cannot exhaust memory
+		byte[] bytes = new byte[Math.min(length, buffer.length)];
+
+		for (int i = 0; i < length; i++) {
+			if (i == bytes.length) {
+				bytes = Arrays.copyOf(bytes, (int)Math.min(length, 2L * bytes.length));
+			}
+
+			bytes[i] = (byte)readByte();
+		}
+
+		return bytes;
+	}
+
+	//Read an integer written by writeVarInt
+	public int readVarInt () throws IOException, BinaryFormatException {
+		long start = getIndex();
+		int  value = 0;
+
+		for (int shift = 0; shift < 35; shift += 7) {
+			int curByte = readByte();
+
+			//Check for a fifth byte holding more than the last four bits of an int
+			if (shift == 28 && curByte > 0x0F) {
+				break;
+			}
+
+			value |= (curByte & 0x7F) << shift;
+
+			//Check for the last byte
+			if ((curByte & 0x80) == 0) {
+				return value;
+			}
+		}
+
+		throw BinaryFormatException.create(
+				start,
+				BinaryFormatException.ExceptionType.INVALID_VARINT
+		);
+	}
+
+	//Read a non-negative integer written by writeVarInt, such as a length or count
+	public int readLength () throws IOException, BinaryFormatException {
+		long start  = getIndex();
+		int  length = readVarInt();
+
+		if (length < 0) {
+			throw BinaryFormatException.create(
+					start,
+					BinaryFormatException.ExceptionType.INVALID_LENGTH
+			);
+		}
+
+		return length;
+	}
+
+	//Read an integer written by writeSignedVarInt
+	public int readSignedVarInt () throws IOException, BinaryFormatException {
+		int zigzag = readVarInt();
+
+		return (zigzag >>> 1) ^ -(zigzag & 1);
+	}
+
+	public double readDouble () throws IOException, BinaryFormatException {
+		long bits = 0;
+
+		//Read directly from the buffer when the bytes are already buffered
+		if (limit - position >= 8) {
+			for (int i = 0; i < 8; i++) {
+				bits = (bits << 8) | (buffer[position++] & 0xFF);
+			}
+
+			return Double.longBitsToDouble(bits);
+		}
+
+		for (int i = 0; i < 8; i++) {
+			bits = (bits << 8) | readByte();
+		}
+
+		return Double.longBitsToDouble(bits);
+	}
+
+	public String readString () throws IOException, BinaryFormatException {
+		int length = readLength();
+
+		//Decode directly from the buffer when the string is already buffered
+		if (limit - position >= length) {
+			String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+			position += length;
+
+			return value;
+		}
+
+		return new String(readBytes(length), StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public void close () throws IOException {
+		in.close();
+	}
+
+	//----------------------[Data reading ends here]---------------------//
+
+
+
+	//Helper function for data reading: get the next byte without consuming it, or -1 at the end of the stream
+	private int peek () throws IOException {
+		//Refill the buffer if it has been consumed
+		while (position == limit) {
+			bufferOffset += limit;
+			position      = 0;
+			limit         = 0;
+
+			int numRead = in.read(buffer, 0, buffer.length);
+
+			//Check for the end of the stream
+			if (numRead == -1) {
+				return -1;
+			}
+
+			limit = numRead;
+		}
+
+		return buffer[position] & 0xFF;
+	}
+}
@@ -0,0 +1,171 @@
+package Molecularize;
+
+/*----------------------------------------------------------------------*\
+	This class writes records in the compact binary format read by
+	BinaryReader. A stream begins with a header holding MAGIC and
+	VERSION, followed by any number of records. Version 2 added isotope
+	data to element records; BinaryReader still reads version 1.
+
+	Integers are written as variable-length integers of seven bits per
+	byte, least significant group first, with the high bit set on every
+	byte but the last. Signed integers are zigzag encoded first so that
+	small negative values stay short. Doubles are written as the eight
+	bytes of their IEEE 754 bits, most significant byte first. Strings
+	are written as the length of their UTF-8 bytes followed by the
+	bytes.
+\*----------------------------------------------------------------------*/
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+public class BinaryWriter implements Closeable, Flushable {
+
+	//-----------------[Constant declaration begins here]----------------//
+
+	public static final byte[] MAGIC               = {'M', 'L', 'C', 'Z'};    //The first bytes of every stream
+	public static final int    VERSION             = 2;                       //The version of the format written
+	public static final int    DEFAULT_BUFFER_SIZE = 8192;
+
+	//------------------[Constant declaration ends here]-----------------//
+
+
+
+	//------------------[Field declarations begin here]------------------//
+
+	private OutputStream out;           //The destination of the data
+	private byte[]       buffer;        //The bytes not yet written to the destination
+	private int          position;      //The number of bytes in the buffer
+
+	//-------------------[Field declarations end here]-------------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	//Begin a stream by writing the header
+	public BinaryWriter (OutputStream out) throws IOException {
+		this.out      = out;
+		this.buffer   = new byte[DEFAULT_BUFFER_SIZE];
+		this.position = 0;
+
+		writeBytes(MAGIC);
+		writeByte (VERSION);
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//----------------------[Data writing begins here]-------------------//
+
+	public void writeByte (int value) throws IOException {
+		//Make room in the buffer
+		if (position == buffer.length) {
+			flushBuffer();
+		}
+
+		buffer[position++] = (byte)value;
+	}
+
+	public void writeBytes (byte[] bytes) throws IOException {
+		//Write large arrays directly
+		if (bytes.length > buffer.length - position) {
+			flushBuffer();
+
+			if (bytes.length > buffer.length) {
+				out.write(bytes);
+				return;
+			}
+		}
+
+		System.arraycopy(bytes, 0, buffer, position, bytes.length);
+		position += bytes.length;
+	}
+
+	//Write a non-negative integer in as few bytes as possible
+	public void writeVarInt (int value) throws IOException {
+		//Check for a negative value, which would always take five bytes
+		if (value < 0) {
+			throw new IllegalArgumentException("" + value);
+		}
+
+		while ((value & ~0x7F) != 0) {
+			writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+
+		writeByte(value);
+	}
+
+	//Write an integer in as few bytes as possible, keeping small negative values short
+	public void writeSignedVarInt (int value) throws IOException {
+		int zigzag = (value << 1) ^ (value >> 31);
+
+		while ((zigzag & ~0x7F) != 0) {
+			writeByte((zigzag & 0x7F) | 0x80);
+			zigzag >>>= 7;
+		}
+
+		writeByte(zigzag);
+	}
+
+	public void writeDouble (double value) throws IOException {
+		long bits = Double.doubleToRawLongBits(value);
+
+		for (int shift = 56; shift >= 0; shift -= 8) {
+			writeByte((int)(bits >>> shift));
+		}
+	}
+
+	public void writeString (String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+		writeVarInt(bytes.length);
+		writeBytes (bytes);
+	}
+
+	@Override
+	public void flush () throws IOException {
+		flushBuffer();
+		out.flush();
+	}
+
+	@Override
+	public void close () throws IOException {
+		try {
+			flushBuffer();
+		} finally {
+			out.close();
+		}
+	}
+
+	//-----------------------[Data writing ends here]--------------------//
+
+
+
+	//Get the number of bytes that writeVarInt writes for a value
+	public static int varIntSize (int value) {
+		int size = 1;
+
+		while ((value & ~0x7F) != 0) {
+			size++;
+			value >>>= 7;
+		}
+
+		return size;
+	}
+
+	//Get the number of bytes that writeSignedVarInt writes for a value
+	public static int signedVarIntSize (int value) {
+		return varIntSize((value << 1) ^ (value >> 31));
+	}
+
+	//Helper function for data writing: write the buffered bytes to the destination
+	private void flushBuffer () throws IOException {
+		out.write(buffer, 0, position);
+		position = 0;
+	}
+}
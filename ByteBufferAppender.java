@@ -0,0 +1,77 @@
+package Molecularize;
+
+/*----------------------------------------------------------------------*\
+	This class writes characters into a ByteBuffer as single bytes, so
+	that data can be serialized straight into a buffer, such as a
+	memory-mapped file, and read back with ByteSequence. Characters
+	are written as ISO-8859-1; any other character is written as '?'.
+	A BufferOverflowException is thrown when the buffer is full.
+\*----------------------------------------------------------------------*/
+
+import java.nio.ByteBuffer;
+
+public class ByteBufferAppender implements Appendable {
+
+	//------------------[Field declarations begin here]------------------//
+
+	private ByteBuffer buffer;      //The bytes receiving the characters
+
+	//-------------------[Field declarations end here]-------------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	//Write from the current position of the buffer
+	public ByteBufferAppender (ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//----------------------[Accessors begin here]-----------------------//
+
+	public ByteBuffer getBuffer () {
+		return buffer;
+	}
+
+	//-----------------------[Accessors end here]------------------------//
+
+
+
+	//----------------------[Data writing begins here]-------------------//
+
+	@Override
+	public ByteBufferAppender append (char c) {
+		buffer.put(c <= 0xFF ? (byte)c : (byte)'?');
+		return this;
+	}
+
+	@Override
+	public ByteBufferAppender append (CharSequence csq) {
+		//Follow Appendable in writing null as "null"
+		if (csq == null) {
+			csq = "null";
+		}
+
+		return append(csq, 0, csq.length());
+	}
+
+	@Override
+	public ByteBufferAppender append (CharSequence csq, int start, int end) {
+		//Follow Appendable in writing null as "null"
+		if (csq == null) {
+			csq = "null";
+		}
+
+		for (int i = start; i < end; i++) {
+			append(csq.charAt(i));
+		}
+
+		return this;
+	}
+
+	//-----------------------[Data writing ends here]--------------------//
+}
@@ -0,0 +1,82 @@
+package Molecularize;
+
+/*----------------------------------------------------------------------*\
+	This class presents the single-byte characters in a ByteBuffer as
+	a CharSequence, so that data can be parsed without first decoding
+	it into a String. Bytes are read as ISO-8859-1 characters.
+\*----------------------------------------------------------------------*/
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class ByteSequence implements CharSequence {
+
+	//------------------[Field declarations begin here]------------------//
+
+	private ByteBuffer buffer;      //The bytes holding the characters
+	private int        offset;      //The index in the buffer of the first character
+	private int        length;      //The number of characters
+
+	//-------------------[Field declarations end here]-------------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	//Present the remaining bytes of the buffer
+	public ByteSequence (ByteBuffer buffer) {
+		this(buffer, buffer.position(), buffer.remaining());
+	}
+
+	private ByteSequence (ByteBuffer buffer, int offset, int length) {
+		this.buffer = buffer;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//----------------------[Accessors begin here]-----------------------//
+
+	@Override
+	public int length () {
+		return length;
+	}
+
+	@Override
+	public char charAt (int index) {
+		//Check for an index outside of the sequence
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException("" + index);
+		}
+
+		return (char) (buffer.get(offset + index) & 0xFF);
+	}
+
+	//Get a view of part of the sequence without copying it
+	@Override
+	public ByteSequence subSequence (int start, int end) {
+		//Check for a range outside of the sequence
+		if (start < 0 || end > length || start > end) {
+			throw new IndexOutOfBoundsException(start + ", " + end);
+		}
+
+		return new ByteSequence(buffer, offset + start, end - start);
+	}
+
+	//Decode the characters into a String
+	@Override
+	public String toString () {
+		byte[] bytes = new byte[length];
+
+		for (int i = 0; i < length; i++) {
+			bytes[i] = buffer.get(offset + i);
+		}
+
+		return new String(bytes, StandardCharsets.ISO_8859_1);
+	}
+
+	//-----------------------[Accessors end here]------------------------//
+}
@@ -0,0 +1,304 @@
+package Molecularize;
+
+/*----------------------------------------------------------------------*\
+	This class reads typed values from the data located by DataParser,
+	decoding them in place from the underlying characters instead of
+	copying each datum into a String first.
+
+	Values are read one datum at a time with the next methods, or from
+	any region of data with the read methods. A read never throws for
+	an invalid datum; wasValid tells whether the last value read was
+	valid, so that callers can report their own error codes. Integers
+	and doubles are read as Integer.parseInt and Double.parseDouble
+	would read them.
+\*----------------------------------------------------------------------*/
+
+import java.util.NoSuchElementException;
+
+public class DataCursor {
+
+	//-----------------[Constant declaration begins here]----------------//
+
+	//Powers of ten that are exactly representable as doubles
+	private static final double[] POWERS_OF_TEN = {
+			1e0,  1e1,  1e2,  1e3,  1e4,  1e5,  1e6,  1e7,  1e8,  1e9,  1e10, 1e11,
+			1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	private static final long MAX_EXACT_SIGNIFICAND = 1L << 53;    //The largest integer exactly representable as a double
+
+	//------------------[Constant declaration ends here]-----------------//
+
+
+
+	//------------------[Field declarations begin here]------------------//
+
+	private DataSpans spans;        //The data being read, or null if only regions are read
+	private int       position;     //The index of the next datum
+	private boolean   valid;        //Whether or not the last value read was valid
+
+	//-------------------[Field declarations end here]-------------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	//Read the data located by DataParser, one datum at a time
+	public DataCursor (DataSpans spans) {
+		this.spans    = spans;
+		this.position = 0;
+		this.valid    = false;
+	}
+
+	//Read values from regions of data only
+	public DataCursor () {
+		this(null);
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//----------------------[Accessors begin here]-----------------------//
+
+	//Get the index of the next datum
+	public int getPosition () {
+		return position;
+	}
+
+	//Check whether there is another datum to read
+	public boolean hasNext () {
+		return spans != null && position < spans.size();
+	}
+
+	//Check whether the last value read was valid
+	public boolean wasValid () {
+		return valid;
+	}
+
+	//-----------------------[Accessors end here]------------------------//
+
+
+
+	//----------------------[Data reading begins here]-------------------//
+
+	public void skip () {
+		nextDatum();
+	}
+
+	public int nextInt () {
+		int datum = nextDatum();
+		return readInt(spans.getSource(), spans.getStart(datum), spans.getEnd(datum));
+	}
+
+	public double nextDouble () {
+		int datum = nextDatum();
+		return readDouble(spans.getSource(), spans.getStart(datum), spans.getEnd(datum));
+	}
+
+	public String nextName () {
+		int datum = nextDatum();
+		return readName(spans.getSource(), spans.getStart(datum), spans.getEnd(datum));
+	}
+
+	public String nextSymbol () {
+		int datum = nextDatum();
+		return readSymbol(spans.getSource(), spans.getStart(datum), spans.getEnd(datum));
+	}
+
+	public String nextText () {
+		int datum = nextDatum();
+
+		valid = true;
+		return spans.getText(datum);
+	}
+
+	//Read an integer, or 0 if the region does not hold one
+	public int readInt (CharSequence data, int start, int end) {
+		valid = false;
+
+		long    limit    = Integer.MAX_VALUE;   //The largest magnitude allowed
+		boolean negative = false;
+
+		//Check for a sign
+		if (start < end && (data.charAt(start) == '-' || data.charAt(start) == '+')) {
+			if (data.charAt(start) == '-') {
+				negative = true;
+				limit    = -(long)Integer.MIN_VALUE;
+			}
+
+			start++;
+		}
+
+		//Check for missing digits
+		if (start == end) {
+			return 0;
+		}
+
+		long magnitude = 0;
+
+		//Read each digit, checking the magnitude so far
+		for (int i = start; i < end; i++) {
+			int digit = Character.digit(data.charAt(i), 10);
+
+			if (digit < 0) {
+				return 0;
+			}
+
+			magnitude = magnitude * 10 + digit;
+
+			if (magnitude > limit) {
+				return 0;
+			}
+		}
+
+		valid = true;
+		return (int)(negative ? -magnitude : magnitude);
+	}
+
+	//Read a double, or 0 if the region does not hold one
+	public double readDouble (CharSequence data, int start, int end) {
+		valid = false;
+
+		//Skip preceding and succeeding whitespace, as Double.parseDouble does
+		while (start < end && data.charAt(start) <= ' ') {
+			start++;
+		}
+
+		while (end > start && data.charAt(end - 1) <= ' ') {
+			end--;
+		}
+
+		int     i           = start;
+		boolean negative    = false;
+		long    significand = 0;        //The digits read, ignoring the decimal point
+		int     numDigits   = 0;        //The number of digits in the significand
+		int     exponent    = 0;        //The power of ten that the significand is multiplied by
+
+		//Check for a sign
+		if (i < end && (data.charAt(i) == '-' || data.charAt(i) == '+')) {
+			negative = data.charAt(i) == '-';
+			i++;
+		}
+
+		//Read the integer part
+		for (; i < end && isDigit(data.charAt(i)); i++) {
+			significand = significand * 10 + (data.charAt(i) - '0');
+			numDigits++;
+		}
+
+		//Read the fractional part
+		if (i < end && data.charAt(i) == '.') {
+			for (i++; i < end && isDigit(data.charAt(i)); i++) {
+				significand = significand * 10 + (data.charAt(i) - '0');
+				numDigits++;
+				exponent--;
+			}
+		}
+
+		//Read a short exponent
+		if (numDigits > 0 && i < end && (data.charAt(i) == 'e' || data.charAt(i) == 'E') && end - i <= 5) {
+			int     exponentStart    = ++i;
+			boolean negativeExponent = false;
+			int     writtenExponent  = 0;
+
+			if (i < end && (data.charAt(i) == '-' || data.charAt(i) == '+')) {
+				negativeExponent = data.charAt(i) == '-';
+				exponentStart    = ++i;
+			}
+
+			for (; i < end && isDigit(data.charAt(i)); i++) {
+				writtenExponent = writtenExponent * 10 + (data.charAt(i) - '0');
+			}
+
+			//Mark an exponent without digits as unread
+			if (i == exponentStart) {
+				i = -1;
+			}
+
+			exponent += negativeExponent ? -writtenExponent : writtenExponent;
+		}
+
+		//Calculate the value exactly when every digit has been read, and both the significand and the power of
+		//ten are exactly representable, so that the result is correctly rounded
+		if (i == end && numDigits > 0 && numDigits <= 18 && significand <= MAX_EXACT_SIGNIFICAND &&
+				exponent >= -(POWERS_OF_TEN.length - 1) && exponent <= POWERS_OF_TEN.length - 1) {
+
+			double value = exponent < 0 ?
+					significand / POWERS_OF_TEN[-exponent] :
+					significand * POWERS_OF_TEN[exponent];
+
+			valid = true;
+			return negative ? -value : value;
+		}
+
+		//Fall back to Double.parseDouble for any other format
+		if (!DataParser.isDecimal(data, start, end)) {
+			return 0;
+		}
+
+		valid = true;
+		return Double.parseDouble(data.subSequence(start, end).toString());
+	}
+
+	//Read a non-empty alphabetical name in lowercase, or null if the region does not hold one
+	public String readName (CharSequence data, int start, int end) {
+		return readLetters(data, start, end, false);
+	}
+
+	//Read a non-empty alphabetical symbol with only its first letter in uppercase, or null if the region does not
+	//hold one
+	public String readSymbol (CharSequence data, int start, int end) {
+		return readLetters(data, start, end, true);
+	}
+
+	//-----------------------[Data reading ends here]--------------------//
+
+
+
+	//Helper function for data reading: move to the next datum, returning its index
+	private int nextDatum () {
+		//Check for a datum to read
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		return position++;
+	}
+
+	//Helper function for readName and readSymbol: read letters in lowercase, optionally capitalizing the first. The
+	//whole datum is lowercased at once by String.toLowerCase, as Element did before the cursor, since characters such
+	//as U+0130 lowercase differently on their own.
+	private String readLetters (CharSequence data, int start, int end, boolean capitalize) {
+		valid = false;
+
+		//Check for an empty datum
+		if (start == end) {
+			return null;
+		}
+
+		String letters = data.subSequence(start, end).toString().toLowerCase();
+
+		//Check each letter
+		for (int i = 0; i < letters.length(); i++) {
+			char curChar = letters.charAt(i);
+
+			if (curChar < 'a' || curChar > 'z') {
+				return null;
+			}
+		}
+
+		//Ensure that only the first letter is uppercase
+		if (capitalize) {
+			letters = (char)(letters.charAt(0) + ('A' - 'a')) + letters.substring(1);
+		}
+
+		valid = true;
+		return letters;
+	}
+
+	//Helper function for readDouble: check whether a character is an ASCII digit
+	private static boolean isDigit (char curChar) {
+		return curChar >= '0' && curChar <= '9';
+	}
+}
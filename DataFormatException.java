@@ -38,9 +38,10 @@ public class DataFormatException extends Exception {
 
 	//-----------------[Variable declaration begins here]----------------//
 
-	private String        data;             //Raw data
+	private String        data;             //Raw data, or an excerpt of it in lightweight mode
 	private int           index;            //Index of error in data
 	private ExceptionType errorReason;      //Reason for the error
+	private String        message;          //Error message, created when first requested
 
 	//------------------[Variable declaration ends here]-----------------//
 
@@ -48,35 +49,46 @@ public class DataFormatException extends Exception {
 
 	//---------------------[Constructors begin here]---------------------//
 
-	private DataFormatException (String message, String data, int index, ExceptionType errorReason) {
-		super(message);
+	private DataFormatException (String data, int index, ExceptionType errorReason, boolean lightweight) {
+		super(null, null, !lightweight, !lightweight);
 		this.data        = data;
 		this.index       = index;
 		this.errorReason = errorReason;
+		this.message     = null;
 	}
 
 	public static DataFormatException create (String data, int index, ExceptionType errorReason) {
-		StringBuilder message = new StringBuilder();
-
-		//Determine required message based on the cause of the exception
-		switch (errorReason) {
-			case EXPECTING_BEGINNING:
-				message.append(EXPECTING_BEGINNING_MESSAGE);
-				break;
-			case EXPECTING_SEPARATOR:
-				message.append(EXPECTING_SEPARATOR_MESSAGE);
-				break;
-			case EXPECTING_ENDING:
-				message.append(EXPECTING_ENDING_MESSAGE   );
-				break;
-			default:
-				message.append(NO_DATA_MESSAGE);
+		boolean lightweight = ExceptionSettings.isLightweight();
+
+		//Only keep the data around the error in lightweight mode
+		if (lightweight) {
+			data = ExceptionSettings.excerpt(data, 0, data.length(), index);
 		}
 
-		//Indicate where the error occurred
-		message.append(index).append(": \"").append(data).append("\"");
+		return new DataFormatException(data, index, errorReason, lightweight);
+	}
+
+	//Create an exception for a region of data; the index is relative to the region
+	public static DataFormatException create (CharSequence data, int start, int end, int index, ExceptionType errorReason) {
+		boolean lightweight = ExceptionSettings.isLightweight();
+
+		//Only copy the data around the error in lightweight mode
+		String errorData = lightweight ?
+				ExceptionSettings.excerpt(data, start, end, index) :
+				data.subSequence(start, end).toString();
+
+		return new DataFormatException(errorData, index, errorReason, lightweight);
+	}
 
-		return new DataFormatException(message.toString(), data, index, errorReason);
+	//Create an exception from a result that failed with one of this exception's types
+	public static DataFormatException create (ParseResult<?> failure) {
+		return create(
+				failure.getSource(),
+				failure.getStart(),
+				failure.getEnd(),
+				failure.getIndex(),
+				(ExceptionType)failure.getErrorReason()
+		);
 	}
 
 	//----------------------[Constructors end here]----------------------//
@@ -98,5 +110,35 @@ public class DataFormatException extends Exception {
 		return errorReason;
 	}
 
+	@Override
+	public String getMessage() {
+		//Create the message when it is first requested
+		if (message == null) {
+			StringBuilder message = new StringBuilder();
+
+			//Determine required message based on the cause of the exception
+			switch (errorReason) {
+				case EXPECTING_BEGINNING:
+					message.append(EXPECTING_BEGINNING_MESSAGE);
+					break;
+				case EXPECTING_SEPARATOR:
+					message.append(EXPECTING_SEPARATOR_MESSAGE);
+					break;
+				case EXPECTING_ENDING:
+					message.append(EXPECTING_ENDING_MESSAGE   );
+					break;
+				default:
+					message.append(NO_DATA_MESSAGE);
+			}
+
+			//Indicate where the error occurred
+			message.append(index).append(": \"").append(data).append("\"");
+
+			this.message = message.toString();
+		}
+
+		return message;
+	}
+
 	//-----------------------[Accessors end here]------------------------//
 }
@@ -0,0 +1,53 @@
+package Molecularize;
+
+/*----------------------------------------------------------------------*\
+	This class receives events from DataParser as it walks a dataset.
+	Every datum is reported between startDatum and endDatum. A datum
+	that begins with an open bracket holds nested data, which are
+	reported between startNested and endNested; any other datum is
+	reported to value with its preceding and succeeding whitespace
+	trimmed. Override only the events that are needed.
+
+	A handler can end a walk early, without throwing an exception, by
+	returning true from isStopped once it has what it needs or has
+	found an error.
+\*----------------------------------------------------------------------*/
+
+public abstract class DataHandler<E extends Exception> {
+
+	//-----------------------[Events begin here]-------------------------//
+
+	//A datum begins
+	public void startDatum () throws E {
+
+	}
+
+	//The current datum ends
+	public void endDatum () throws E {
+
+	}
+
+	//The current datum holds nested data
+	public void startNested () throws E {
+
+	}
+
+	//The nested data of the current datum end
+	public void endNested () throws E {
+
+	}
+
+	//The current datum holds the characters between start (inclusive) and end (exclusive)
+	public void value (CharSequence data, int start, int end) throws E {
+
+	}
+
+	//------------------------[Events end here]--------------------------//
+
+
+
+	//Check whether the walk should end after the current event
+	public boolean isStopped () {
+		return false;
+	}
+}
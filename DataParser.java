@@ -12,6 +12,8 @@ public class DataParser {
 	static final char CLOSE_CURLY_BRACKET = '}';
 	static final char DATUM_SEPARATOR     = ',';
 
+	private static final int WALK_ENDED = -1;     //Returned by the walk helpers once a walk has failed or been stopped
+
 	//------------------[Constant declaration ends here]-----------------//
 
 
@@ -29,66 +31,102 @@ public class DataParser {
 	//---------------------[Data parsing begins here]--------------------//
 
 	public String[] parse (String data) throws DataFormatException {
+		return parseSpans(data).toArray();
+	}
+
+	//Separate data values without throwing an exception for badly formatted data
+	public ParseResult<String[]> tryParse (String data) {
+		ParseResult<DataSpans> spans = tryParseSpans(data);
+
+		//Check for badly formatted data
+		if (!spans.isSuccess()) {
+			return spans.asFailure();
+		}
+
+		return ParseResult.success(spans.getValue().toArray());
+	}
+
+	//Locate each datum without copying it out of the data
+	public DataSpans parseSpans (CharSequence data) throws DataFormatException {
+		return parseSpans(data, 0, data.length());
+	}
+
+	//Locate each datum in a region of the data; error indexes are relative to the region
+	public DataSpans parseSpans (CharSequence data, int start, int end) throws DataFormatException {
+		ParseResult<DataSpans> spans = tryParseSpans(data, start, end);
+
+		//Check for badly formatted data
+		if (!spans.isSuccess()) {
+			throw DataFormatException.create(spans);
+		}
+
+		return spans.getValue();
+	}
+
+	//Locate each datum without throwing an exception for badly formatted data
+	public ParseResult<DataSpans> tryParseSpans (CharSequence data) {
+		return tryParseSpans(data, 0, data.length());
+	}
+
+	//Locate each datum in a region of the data without throwing an exception for badly formatted data
+	public ParseResult<DataSpans> tryParseSpans (CharSequence data, int start, int end) {
 
 		//Check for a valid data string
-		if (data.length() == 0) {
-			throw DataFormatException.create(
-					data,
-					0,
-					DataFormatException.ExceptionType.NO_DATA
-			);
+		if (end - start == 0) {
+			return ParseResult.failure(DataFormatException.ExceptionType.NO_DATA, data, start, end, 0);
 		}
 
-		int     openBracketCount   = 0;         //The net number of open brackets
-		int     numberOfData       = 0;         //The counted number of data in the dataset
-		boolean expectingSeparator = false;     //Whether or not a separator is expected
+		DataSpans spans              = new DataSpans(data);
+		int       openBracketCount   = 0;       //The net number of open brackets
+		int       datumStart         = start;   //The index after the opening bracket of the current datum
+		boolean   expectingSeparator = false;   //Whether or not a separator is expected
 
-		//Count the number of data
-		for (int i = 0; i < data.length(); i++) {
+		//Locate each datum
+		for (int i = start; i < end; i++) {
 			char curChar = data.charAt(i);
 
 			//Check for whitespace
-			if (curChar != ' ' && curChar != '\t') {
+			if (!isWhitespace(curChar)) {
 
 				//Check for data separator
 				if (expectingSeparator) {
 					if (curChar == DATUM_SEPARATOR) {
 						expectingSeparator = false;
 					} else {
-						throw DataFormatException.create(
+						return ParseResult.failure(
+								DataFormatException.ExceptionType.EXPECTING_SEPARATOR,
 								data,
-								i,
-								DataFormatException.ExceptionType.EXPECTING_SEPARATOR
+								start,
+								end,
+								i - start
 						);
 					}
 
 				//Check for invalid beginning of datum
 				} else if (openBracketCount == 0 && curChar != OPEN_CURLY_BRACKET) {
-					throw DataFormatException.create(
+					return ParseResult.failure(
+							DataFormatException.ExceptionType.EXPECTING_BEGINNING,
 							data,
-							i,
-							DataFormatException.ExceptionType.EXPECTING_BEGINNING
+							start,
+							end,
+							i - start
 					);
 
 				//Check for beginning of datum
 				} else if (curChar == OPEN_CURLY_BRACKET) {
 					openBracketCount++;
 
+					if (openBracketCount == 1) {
+						datumStart = i + 1;
+					}
+
 				//Check for end of datum
 				} else if (curChar == CLOSE_CURLY_BRACKET) {
 					openBracketCount--;
 
-					//Check for illegal number of closed brackets
-					if (openBracketCount < 0) {
-						throw DataFormatException.create(
-								data,
-								i,
-								DataFormatException.ExceptionType.EXPECTING_SEPARATOR
-						);
-
-					//Increment number of data
-					} else if (openBracketCount == 0) {
-						numberOfData++;
+					//Record the datum
+					if (openBracketCount == 0) {
+						spans.add(datumStart, i);
 						expectingSeparator = true;
 					}
 				}
@@ -97,48 +135,316 @@ public class DataParser {
 
 		//Check for bracket imbalance
 		if (openBracketCount != 0) {
-			throw DataFormatException.create(
+			return ParseResult.failure(
+					DataFormatException.ExceptionType.EXPECTING_ENDING,
 					data,
-					data.length(),
-					DataFormatException.ExceptionType.EXPECTING_ENDING
+					start,
+					end,
+					end - start
 			);
 		}
 
-		String[] dataArray = new String[numberOfData];
-		int dataArrayIndex = 0;
-		int startIndex     = 0;
+		return ParseResult.success(spans);
+	}
 
-		//Load data into array
-		for (int i = 0; i < data.length(); i++) {
-			char curChar = data.charAt(i);
+	//Walk every datum and nested datum in one pass, reporting each to the handler
+	public <E extends Exception> void parse (CharSequence data, DataHandler<E> handler) throws
+			DataFormatException, E {
 
-			//Increment bracket count
-			if (curChar == OPEN_CURLY_BRACKET) {
-				openBracketCount++;
+		parse(data, 0, data.length(), handler);
+	}
 
-				//Check for beginning of datum
-				if (openBracketCount == 1) {
-					startIndex = i + 1;
+	//Walk a region of the data; error indexes are relative to the region
+	public <E extends Exception> void parse (CharSequence data, int start, int end, DataHandler<E> handler) throws
+			DataFormatException, E {
+
+		ParseResult<Void> result = tryParse(data, start, end, handler);
+
+		//Check for badly formatted data
+		if (!result.isSuccess()) {
+			throw DataFormatException.create(result);
+		}
+	}
+
+	//Walk every datum without throwing an exception for badly formatted data
+	public <E extends Exception> ParseResult<Void> tryParse (CharSequence data, DataHandler<E> handler) throws E {
+
+		return tryParse(data, 0, data.length(), handler);
+	}
+
+	//Walk a region of the data without throwing an exception for badly formatted data; a walk that the
+	//handler stops early succeeds
+	public <E extends Exception> ParseResult<Void> tryParse (CharSequence data, int start, int end,
+			DataHandler<E> handler) throws E {
+
+		//Check for a valid data string
+		if (end - start == 0) {
+			return ParseResult.failure(DataFormatException.ExceptionType.NO_DATA, data, start, end, 0);
+		}
+
+		Walk<E> walk = new Walk<E>(data, end, handler);
+
+		parseLevel(walk, start, true);
+
+		//Check for badly formatted data
+		if (walk.errorReason != null) {
+			return ParseResult.failure(walk.errorReason, data, start, end, walk.errorIndex - start);
+		}
+
+		return ParseResult.success(null);
+	}
+
+	//The state of one walk over a region of data
+	private static class Walk<E extends Exception> {
+		private CharSequence                      data;          //The data being walked
+		private int                               end;           //The index after the last character of the region
+		private DataHandler<E>                    handler;       //The handler receiving events
+		private DataFormatException.ExceptionType errorReason;   //The reason the walk failed, or null
+		private int                               errorIndex;    //The index in the data of the error
+
+		private Walk (CharSequence data, int end, DataHandler<E> handler) {
+			this.data        = data;
+			this.end         = end;
+			this.handler     = handler;
+			this.errorReason = null;
+			this.errorIndex  = -1;
+		}
+
+		//Record an error, returning the index that ends the walk
+		private int fail (DataFormatException.ExceptionType errorReason, int errorIndex) {
+			this.errorReason = errorReason;
+			this.errorIndex  = errorIndex;
+
+			return WALK_ENDED;
+		}
+	}
+
+	//Helper function for tryParse: walk the data of one level, returning the index of the bracket that
+	//closes it, or WALK_ENDED if the walk has failed or been stopped
+	private static <E extends Exception> int parseLevel (Walk<E> walk, int index, boolean topLevel) throws E {
+
+		boolean expectingSeparator = false;     //Whether or not a separator is expected
+
+		for (; index < walk.end; index++) {
+			char curChar = walk.data.charAt(index);
+
+			//Check for whitespace
+			if (isWhitespace(curChar)) {
+				continue;
+			}
+
+			//Check for the end of a nested level
+			if (curChar == CLOSE_CURLY_BRACKET && !topLevel) {
+				return index;
+
+			//Check for data separator
+			} else if (expectingSeparator) {
+				if (curChar == DATUM_SEPARATOR) {
+					expectingSeparator = false;
+				} else {
+					return walk.fail(DataFormatException.ExceptionType.EXPECTING_SEPARATOR, index);
 				}
 
-			//Decrement bracket count
-			} else if (curChar == CLOSE_CURLY_BRACKET) {
-				openBracketCount--;
+			//Check for beginning of datum
+			} else if (curChar == OPEN_CURLY_BRACKET) {
+				index = parseDatum(walk, index + 1);
 
-				//Check for end of datum
-				if (openBracketCount == 0) {
-					dataArray[dataArrayIndex] = data.substring(startIndex, i);
-					dataArrayIndex++;
+				//Check whether the walk has ended
+				if (index == WALK_ENDED) {
+					return WALK_ENDED;
 				}
+
+				expectingSeparator = true;
+
+			//Check for invalid beginning of datum
+			} else {
+				return walk.fail(DataFormatException.ExceptionType.EXPECTING_BEGINNING, index);
 			}
 		}
 
-		//Trim preceding and succeeding whitespace from each datum
-		for (int i = 0; i < dataArray.length; i++) {
-			dataArray[i] = dataArray[i].trim();
+		//Check for bracket imbalance
+		if (!topLevel) {
+			return walk.fail(DataFormatException.ExceptionType.EXPECTING_ENDING, walk.end);
 		}
 
-		return dataArray;
+		return walk.end;
+	}
+
+	//Helper function for tryParse: walk one datum, returning the index of the bracket that closes it, or
+	//WALK_ENDED if the walk has failed or been stopped
+	private static <E extends Exception> int parseDatum (Walk<E> walk, int index) throws E {
+		DataHandler<E> handler = walk.handler;
+		CharSequence   data    = walk.data;
+
+		handler.startDatum();
+
+		//Skip preceding whitespace
+		int valueStart = index;
+
+		while (valueStart < walk.end && data.charAt(valueStart) <= ' ') {
+			valueStart++;
+		}
+
+		//Check for nested data
+		if (valueStart < walk.end && data.charAt(valueStart) == OPEN_CURLY_BRACKET) {
+			handler.startNested();
+
+			//Check whether the handler has stopped the walk
+			if (handler.isStopped()) {
+				return WALK_ENDED;
+			}
+
+			index = parseLevel(walk, valueStart, false);
+
+			//Check whether the walk has ended
+			if (index == WALK_ENDED) {
+				return WALK_ENDED;
+			}
+
+			handler.endNested();
+
+		} else {
+			int openBracketCount = 1;
+
+			//Find the end of the datum
+			for (; index < walk.end; index++) {
+				char curChar = data.charAt(index);
+
+				if (curChar == OPEN_CURLY_BRACKET) {
+					openBracketCount++;
+				} else if (curChar == CLOSE_CURLY_BRACKET) {
+					openBracketCount--;
+
+					if (openBracketCount == 0) {
+						break;
+					}
+				}
+			}
+
+			//Check for bracket imbalance
+			if (openBracketCount != 0) {
+				return walk.fail(DataFormatException.ExceptionType.EXPECTING_ENDING, walk.end);
+			}
+
+			//Skip succeeding whitespace
+			int valueEnd = index;
+
+			while (valueEnd > valueStart && data.charAt(valueEnd - 1) <= ' ') {
+				valueEnd--;
+			}
+
+			handler.value(data, valueStart, valueEnd);
+		}
+
+		//Check whether the handler has stopped the walk
+		if (handler.isStopped()) {
+			return WALK_ENDED;
+		}
+
+		handler.endDatum();
+
+		//Check whether the handler has stopped the walk
+		if (handler.isStopped()) {
+			return WALK_ENDED;
+		}
+
+		return index;
+	}
+
+	//Check whether a character may separate data
+	public static boolean isWhitespace (int curChar) {
+		return curChar == ' ' || curChar == '\t' || curChar == '\n' || curChar == '\r';
+	}
+
+	//Check whether a region of data can be read by Integer.parseInt, by the same rules as DataCursor.readInt
+	public static boolean isInteger (CharSequence data, int start, int end) {
+		DataCursor cursor = new DataCursor();
+
+		cursor.readInt(data, start, end);
+
+		return cursor.wasValid();
+	}
+
+	//Check whether a region of data can be read by Double.parseDouble
+	public static boolean isDecimal (CharSequence data, int start, int end) {
+		//Skip a sign
+		if (start < end && (data.charAt(start) == '-' || data.charAt(start) == '+')) {
+			start++;
+		}
+
+		//Check for special values
+		if (regionEquals(data, start, end, "NaN") || regionEquals(data, start, end, "Infinity")) {
+			return true;
+		}
+
+		//Check for hexadecimal values, which are rare enough to check by parsing
+		if (end - start > 1 && data.charAt(start) == '0' &&
+				(data.charAt(start + 1) == 'x' || data.charAt(start + 1) == 'X')) {
+			try {
+				Double.parseDouble(data.subSequence(start, end).toString());
+				return true;
+			} catch (NumberFormatException e) {
+				return false;
+			}
+		}
+
+		//Skip a type suffix
+		if (end > start) {
+			char suffix = data.charAt(end - 1);
+
+			if (suffix == 'd' || suffix == 'D' || suffix == 'f' || suffix == 'F') {
+				end--;
+			}
+		}
+
+		int numDigits = 0;      //The number of digits in the significand
+		int i         = start;
+
+		//Check the integer part
+		while (i < end && data.charAt(i) >= '0' && data.charAt(i) <= '9') {
+			numDigits++;
+			i++;
+		}
+
+		//Check the fractional part
+		if (i < end && data.charAt(i) == '.') {
+			i++;
+
+			while (i < end && data.charAt(i) >= '0' && data.charAt(i) <= '9') {
+				numDigits++;
+				i++;
+			}
+		}
+
+		//Check for a significand without digits
+		if (numDigits == 0) {
+			return false;
+		}
+
+		//Check the exponent
+		if (i < end && (data.charAt(i) == 'e' || data.charAt(i) == 'E')) {
+			i++;
+
+			if (i < end && (data.charAt(i) == '-' || data.charAt(i) == '+')) {
+				i++;
+			}
+
+			//Check for an exponent without digits
+			if (i == end) {
+				return false;
+			}
+
+			while (i < end && data.charAt(i) >= '0' && data.charAt(i) <= '9') {
+				i++;
+			}
+		}
+
+		return i == end;
+	}
+
+	//Helper function for isDecimal: check whether a region of data is equal to a String
+	private static boolean regionEquals (CharSequence data, int start, int end, String s) {
+		return end - start == s.length() && s.contentEquals(data.subSequence(start, end));
 	}
 
 	//----------------------[Data parsing ends here]---------------------//
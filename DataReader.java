@@ -0,0 +1,345 @@
+package Molecularize;
+
+/*----------------------------------------------------------------------*\
+	This class is a pull parser for data read from a stream. Only a
+	fixed-size buffer of the stream is held in memory at any time.
+
+	Data are read one at a time from the current level with next(), or
+	entered with enter() so that the data nested inside them can be
+	read. Error indexes are counted from the beginning of the stream.
+\*----------------------------------------------------------------------*/
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+
+public class DataReader implements Closeable {
+
+	//-----------------[Constant declaration begins here]----------------//
+
+	public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+	//------------------[Constant declaration ends here]-----------------//
+
+
+
+	//------------------[Field declarations begin here]------------------//
+
+	private Reader        reader;               //The source of the data
+	private char[]        buffer;               //The characters read from the source
+	private int           position;             //The index of the next character in the buffer
+	private int           limit;                //The number of characters in the buffer
+	private long          bufferOffset;         //The index in the stream of the first character in the buffer
+	private boolean       endOfStream;          //Whether or not the source has been exhausted
+
+	private int           depth;                //The number of data that have been entered
+	private boolean       expectingSeparator;   //Whether or not a separator is expected
+	private boolean       datumOpened;          //Whether or not the next datum's open bracket has been read
+	private StringBuilder datum;                //The text of the datum being read
+
+	//-------------------[Field declarations end here]-------------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	public DataReader (Reader reader) {
+		this(reader, DEFAULT_BUFFER_SIZE);
+	}
+
+	public DataReader (Reader reader, int bufferSize) {
+		//Check for a valid buffer size
+		if (bufferSize < 1) {
+			throw new IllegalArgumentException("" + bufferSize);
+		}
+
+		this.reader             = reader;
+		this.buffer             = new char[bufferSize];
+		this.position           = 0;
+		this.limit              = 0;
+		this.bufferOffset       = 0;
+		this.endOfStream        = false;
+		this.depth              = 0;
+		this.expectingSeparator = false;
+		this.datumOpened        = false;
+		this.datum              = new StringBuilder();
+	}
+
+	//Read UTF-8 encoded data
+	public DataReader (InputStream in) {
+		this(new InputStreamReader(in, StandardCharsets.UTF_8));
+	}
+
+	//Read UTF-8 encoded data
+	public DataReader (ReadableByteChannel channel) {
+		this(Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), -1));
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//----------------------[Accessors begin here]-----------------------//
+
+	//Get the number of data that have been entered
+	public int getDepth () {
+		return depth;
+	}
+
+	//Get the index in the stream of the next character to be read
+	public long getIndex () {
+		return bufferOffset + position;
+	}
+
+	//-----------------------[Accessors end here]------------------------//
+
+
+
+	//---------------------[Data parsing begins here]--------------------//
+
+	//Check whether there is another datum at the current level
+	public boolean hasNext () throws IOException, DataFormatException {
+
+		//The next datum has already been found
+		if (datumOpened) {
+			return true;
+		}
+
+		int curChar = skipWhitespace();
+
+		//Check for an empty stream
+		if (curChar == -1 && getIndex() == 0) {
+			throw createException(DataFormatException.ExceptionType.NO_DATA);
+		}
+
+		//Check for data separator
+		if (expectingSeparator) {
+			if (curChar == DataParser.DATUM_SEPARATOR) {
+				position++;
+				expectingSeparator = false;
+				curChar = skipWhitespace();
+
+			//Check for the end of the current level
+			} else if (isEndOfLevel(curChar)) {
+				return false;
+			} else {
+				throw createException(DataFormatException.ExceptionType.EXPECTING_SEPARATOR);
+			}
+		}
+
+		//Check for beginning of datum
+		if (curChar == DataParser.OPEN_CURLY_BRACKET) {
+			return true;
+
+		//Check for the end of the current level
+		} else if (isEndOfLevel(curChar)) {
+			return false;
+		} else {
+			throw createException(DataFormatException.ExceptionType.EXPECTING_BEGINNING);
+		}
+	}
+
+	//Check whether the next datum contains nested data
+	public boolean isNextNested () throws IOException, DataFormatException {
+		openDatum();
+
+		return skipWhitespace() == DataParser.OPEN_CURLY_BRACKET;
+	}
+
+	//Read the next datum at the current level, with preceding and succeeding whitespace trimmed
+	public String next () throws IOException, DataFormatException {
+		openDatum();
+
+		datum.setLength(0);
+		readDatum(true);
+
+		//Trim preceding and succeeding whitespace
+		int start = 0;
+		int end   = datum.length();
+
+		while (start < end && datum.charAt(start) <= ' ') {
+			start++;
+		}
+
+		while (end > start && datum.charAt(end - 1) <= ' ') {
+			end--;
+		}
+
+		return datum.substring(start, end);
+	}
+
+	//Skip the next datum at the current level
+	public void skip () throws IOException, DataFormatException {
+		openDatum();
+		readDatum(false);
+	}
+
+	//Move into the next datum so that its nested data can be read
+	public void enter () throws IOException, DataFormatException {
+		openDatum();
+
+		datumOpened        = false;
+		expectingSeparator = false;
+		depth++;
+
+		//Check for a datum without data
+		if (skipWhitespace() == DataParser.CLOSE_CURLY_BRACKET) {
+			throw createException(DataFormatException.ExceptionType.NO_DATA);
+		}
+	}
+
+	//Skip the rest of the current datum and return to the enclosing level
+	public void exit () throws IOException, DataFormatException {
+
+		//Check whether a datum has been entered
+		if (depth == 0) {
+			throw new IllegalStateException("No datum has been entered");
+		}
+
+		while (hasNext()) {
+			skip();
+		}
+
+		//Consume the close bracket of the datum
+		position++;
+		depth--;
+		expectingSeparator = true;
+	}
+
+	@Override
+	public void close () throws IOException {
+		reader.close();
+	}
+
+	//----------------------[Data parsing ends here]---------------------//
+
+
+
+	//Helper function for data parsing: consume the open bracket of the next datum
+	private void openDatum () throws IOException, DataFormatException {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		if (!datumOpened) {
+			position++;
+			datumOpened = true;
+		}
+	}
+
+	//Helper function for data parsing: read up to and including the close bracket of an opened datum
+	private void readDatum (boolean keepText) throws IOException, DataFormatException {
+		int openBracketCount = 1;
+
+		while (true) {
+			int curChar = peek();
+
+			//Check for bracket imbalance
+			if (curChar == -1) {
+				throw createException(DataFormatException.ExceptionType.EXPECTING_ENDING);
+			}
+
+			position++;
+
+			if (curChar == DataParser.OPEN_CURLY_BRACKET) {
+				openBracketCount++;
+			} else if (curChar == DataParser.CLOSE_CURLY_BRACKET) {
+				openBracketCount--;
+
+				//Check for end of datum
+				if (openBracketCount == 0) {
+					break;
+				}
+			}
+
+			if (keepText) {
+				datum.append((char) curChar);
+			}
+		}
+
+		datumOpened        = false;
+		expectingSeparator = true;
+	}
+
+	//Helper function for data parsing: check whether a character ends the current level
+	private boolean isEndOfLevel (int curChar) throws DataFormatException {
+		//Check for the end of the stream
+		if (curChar == -1) {
+			if (depth == 0) {
+				return true;
+			} else {
+				throw createException(DataFormatException.ExceptionType.EXPECTING_ENDING);
+			}
+
+		//Check for the end of an entered datum
+		} else if (curChar == DataParser.CLOSE_CURLY_BRACKET) {
+			if (depth > 0) {
+				return true;
+			} else if (expectingSeparator) {
+				throw createException(DataFormatException.ExceptionType.EXPECTING_SEPARATOR);
+			} else {
+				throw createException(DataFormatException.ExceptionType.EXPECTING_BEGINNING);
+			}
+		}
+
+		return false;
+	}
+
+	//Helper function for data parsing: get the next non-whitespace character without consuming it
+	private int skipWhitespace () throws IOException {
+		int curChar = peek();
+
+		while (DataParser.isWhitespace(curChar)) {
+			position++;
+			curChar = peek();
+		}
+
+		return curChar;
+	}
+
+	//Helper function for data parsing: get the next character without consuming it
+	private int peek () throws IOException {
+		//Refill the buffer if it has been consumed
+		if (position == limit && !endOfStream) {
+			bufferOffset += limit;
+			position      = 0;
+			limit         = 0;
+
+			int numRead = reader.read(buffer, 0, buffer.length);
+
+			//Check for the end of the stream
+			if (numRead == -1) {
+				endOfStream = true;
+			} else {
+				limit = numRead;
+			}
+		}
+
+		if (position == limit) {
+			return -1;
+		}
+
+		return buffer[position];
+	}
+
+	//Helper function for data parsing: report an error at the next character to be read
+	private DataFormatException createException (DataFormatException.ExceptionType errorReason) {
+		//Only copy the buffered data around the error in lightweight mode
+		String data = ExceptionSettings.isLightweight() ?
+				ExceptionSettings.excerpt(CharBuffer.wrap(buffer, 0, limit), 0, limit, position) :
+				new String(buffer, 0, limit);
+
+		return DataFormatException.create(
+				data,
+				(int) Math.min(getIndex(), Integer.MAX_VALUE),
+				errorReason
+		);
+	}
+}
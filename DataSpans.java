@@ -0,0 +1,162 @@
+package Molecularize;
+
+/*----------------------------------------------------------------------*\
+	This class stores the location of each datum found by DataParser.
+	Text is only copied out of the source when it is requested.
+\*----------------------------------------------------------------------*/
+
+public class DataSpans {
+
+	//-----------------[Constant declaration begins here]----------------//
+
+	private static final int INITIAL_CAPACITY = 8;
+
+	//------------------[Constant declaration ends here]-----------------//
+
+
+
+	//------------------[Field declarations begin here]------------------//
+
+	private CharSequence source;        //The data that was parsed
+	private int[]        starts;        //The index of the first character of each datum
+	private int[]        ends;          //The index after the last character of each datum
+	private int          numData;       //The number of data found
+
+	//-------------------[Field declarations end here]-------------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	DataSpans (CharSequence source) {
+		this.source  = source;
+		this.starts  = new int[INITIAL_CAPACITY];
+		this.ends    = new int[INITIAL_CAPACITY];
+		this.numData = 0;
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//----------------------[Accessors begin here]-----------------------//
+
+	//Get the data that was parsed
+	public CharSequence getSource () {
+		return source;
+	}
+
+	//Get the number of data found
+	public int size () {
+		return numData;
+	}
+
+	//Get the index of the first character of a datum in the source
+	public int getStart (int datum) {
+		checkDatum(datum);
+		return starts[datum];
+	}
+
+	//Get the index after the last character of a datum in the source
+	public int getEnd (int datum) {
+		checkDatum(datum);
+		return ends[datum];
+	}
+
+	//Get the number of characters in a datum
+	public int getLength (int datum) {
+		checkDatum(datum);
+		return ends[datum] - starts[datum];
+	}
+
+	//Get a character of a datum
+	public char charAt (int datum, int offset) {
+		checkDatum(datum);
+
+		//Check for an offset outside of the datum
+		if (offset < 0 || offset >= ends[datum] - starts[datum]) {
+			throw new IndexOutOfBoundsException("" + offset);
+		}
+
+		return source.charAt(starts[datum] + offset);
+	}
+
+	//Check whether a datum begins with the given prefix
+	public boolean startsWith (int datum, String prefix) {
+		checkDatum(datum);
+
+		//Check whether the datum is long enough to hold the prefix
+		if (ends[datum] - starts[datum] < prefix.length()) {
+			return false;
+		}
+
+		for (int i = 0; i < prefix.length(); i++) {
+			if (source.charAt(starts[datum] + i) != prefix.charAt(i)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	//Copy a datum out of the source
+	public String getText (int datum) {
+		checkDatum(datum);
+		return source.subSequence(starts[datum], ends[datum]).toString();
+	}
+
+	//Copy every datum out of the source
+	public String[] toArray () {
+		String[] dataArray = new String[numData];
+
+		for (int i = 0; i < numData; i++) {
+			dataArray[i] = getText(i);
+		}
+
+		return dataArray;
+	}
+
+	//-----------------------[Accessors end here]------------------------//
+
+
+
+	//-----------------------[Mutators begin here]-----------------------//
+
+	//Record a datum, skipping preceding and succeeding whitespace
+	void add (int start, int end) {
+		while (start < end && source.charAt(start) <= ' ') {
+			start++;
+		}
+
+		while (end > start && source.charAt(end - 1) <= ' ') {
+			end--;
+		}
+
+		//Grow the arrays if they are full
+		if (numData == starts.length) {
+			int[] newStarts = new int[numData * 2];
+			int[] newEnds   = new int[numData * 2];
+
+			System.arraycopy(starts, 0, newStarts, 0, numData);
+			System.arraycopy(ends,   0, newEnds,   0, numData);
+
+			starts = newStarts;
+			ends   = newEnds;
+		}
+
+		starts[numData] = start;
+		ends  [numData] = end;
+		numData++;
+	}
+
+	//------------------------[Mutators end here]------------------------//
+
+
+
+	//Helper function for accessors: check whether a datum exists
+	private void checkDatum (int datum) {
+		if (datum < 0 || datum >= numData) {
+			throw new IndexOutOfBoundsException("" + datum);
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package Molecularize;
+
+/*----------------------------------------------------------------------*\
+	This class writes values read by DataParser to an Appendable, such
+	as a StringBuilder, a Writer or a ByteBufferAppender, without
+	creating an intermediate String for each value.
+\*----------------------------------------------------------------------*/
+
+import java.io.IOException;
+
+public class DataWriter {
+
+	//---------------------[Constructors begin here]---------------------//
+
+	private DataWriter () {
+
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//----------------------[Data writing begins here]-------------------//
+
+	//Write an integer in the format of Integer.toString
+	public static void writeInt (Appendable out, int value) throws IOException {
+		//Let StringBuilder write the digits itself
+		if (out instanceof StringBuilder) {
+			((StringBuilder)out).append(value);
+			return;
+		}
+
+		long magnitude = value;
+
+		//Write the sign
+		if (magnitude < 0) {
+			out.append('-');
+			magnitude = -magnitude;
+		}
+
+		//Find the place value of the first digit
+		long placeValue = 1;
+
+		while (placeValue * 10 <= magnitude) {
+			placeValue *= 10;
+		}
+
+		//Write each digit
+		for (; placeValue > 0; placeValue /= 10) {
+			out.append((char)('0' + (magnitude / placeValue) % 10));
+		}
+	}
+
+	//Write a double in the format of Double.toString
+	public static void writeDouble (Appendable out, double value) throws IOException {
+		//Let StringBuilder write the digits itself
+		if (out instanceof StringBuilder) {
+			((StringBuilder)out).append(value);
+		} else {
+			out.append(Double.toString(value));
+		}
+	}
+
+	//-----------------------[Data writing ends here]--------------------//
+}
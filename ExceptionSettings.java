@@ -0,0 +1,64 @@
+package Molecularize;
+
+/*----------------------------------------------------------------------*\
+	This class controls how parsing exceptions are created.
+
+	In lightweight mode, exceptions do not capture a stack trace and
+	only keep a bounded excerpt of the data around the error. This
+	makes rejecting malformed data cheap when errors are common.
+\*----------------------------------------------------------------------*/
+
+public class ExceptionSettings {
+
+	//-----------------[Constant declaration begins here]----------------//
+
+	public static final int EXCERPT_RADIUS = 32;    //The number of characters kept on each side of an error
+
+	//------------------[Constant declaration ends here]-----------------//
+
+
+
+	//------------------[Field declarations begin here]------------------//
+
+	private static volatile boolean lightweight = false;   //Whether or not lightweight exceptions are created
+
+	//-------------------[Field declarations end here]-------------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	private ExceptionSettings () {
+
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//----------------------[Accessors begin here]-----------------------//
+
+	public static boolean isLightweight () {
+		return lightweight;
+	}
+
+	//Get at most 2 * EXCERPT_RADIUS characters of a region of data, centred on an index relative to the region
+	public static String excerpt (CharSequence data, int start, int end, int index) {
+		int length       = Math.min(end - start, 2 * EXCERPT_RADIUS);
+		int excerptStart = Math.max(start, Math.min(start + index - EXCERPT_RADIUS, end - length));
+
+		return data.subSequence(excerptStart, excerptStart + length).toString();
+	}
+
+	//-----------------------[Accessors end here]------------------------//
+
+
+
+	//-----------------------[Mutators begin here]-----------------------//
+
+	public static void setLightweight (boolean lightweight) {
+		ExceptionSettings.lightweight = lightweight;
+	}
+
+	//------------------------[Mutators end here]------------------------//
+}
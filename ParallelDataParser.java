@@ -0,0 +1,150 @@
+package Molecularize;
+
+/*----------------------------------------------------------------------*\
+	This class parses the top-level data of a large dataset in
+	parallel. The dataset is split at its top-level separators, and
+	runs of data are parsed as separate tasks on a fork/join pool.
+	Results are returned in the same order as the data.
+\*----------------------------------------------------------------------*/
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class ParallelDataParser {
+
+	//-----------------[Constant declaration begins here]----------------//
+
+	public static final int DEFAULT_THRESHOLD = 256;    //The default largest number of data parsed by one task
+
+	//------------------[Constant declaration ends here]-----------------//
+
+
+
+	//------------------[Field declarations begin here]------------------//
+
+	private ForkJoinPool pool;          //The pool that runs the parsing tasks
+	private int          threshold;     //The largest number of data parsed by one task
+
+	//-------------------[Field declarations end here]-------------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	public ParallelDataParser () {
+		this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+	}
+
+	public ParallelDataParser (ForkJoinPool pool, int threshold) {
+		//Check for a valid threshold
+		if (threshold < 1) {
+			throw new IllegalArgumentException("" + threshold);
+		}
+
+		this.pool      = pool;
+		this.threshold = threshold;
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//---------------------[Data parsing begins here]--------------------//
+
+	//Parse each top-level datum; the first failure in input order is rethrown
+	@SuppressWarnings("unchecked")
+	public <T, E extends Exception> List<T> parse (CharSequence data, RecordParser<T, E> recordParser) throws
+			DataFormatException, E {
+
+		DataSpans spans = new DataParser().parseSpans(data);
+		ParseTask task  = new ParseTask(spans, recordParser, 0, spans.size());
+
+		pool.invoke(task);
+
+		//Rethrow the failure from the earliest datum
+		Exception failure = task.state.failure;
+
+		if (failure instanceof DataFormatException) {
+			throw (DataFormatException) failure;
+		} else if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		} else if (failure != null) {
+			throw (E) failure;
+		}
+
+		return (List<T>) Arrays.asList(task.state.results);
+	}
+
+	//----------------------[Data parsing ends here]---------------------//
+
+
+
+	//Results and earliest failure shared by every task of one parse
+	private static class ParseState {
+		private Object[]           results;
+		private volatile int       failureIndex;
+		private volatile Exception failure;
+
+		private ParseState (int numData) {
+			this.results      = new Object[numData];
+			this.failureIndex = numData;
+			this.failure      = null;
+		}
+
+		//Keep the failure from the earliest datum
+		private synchronized void fail (int index, Exception e) {
+			if (index < failureIndex) {
+				failureIndex = index;
+				failure      = e;
+			}
+		}
+	}
+
+	//Task that parses a run of data, splitting it while it is larger than the threshold
+	private class ParseTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private DataSpans          spans;
+		private RecordParser<?, ?> recordParser;
+		private ParseState         state;
+		private int                first;
+		private int                last;
+
+		private ParseTask (DataSpans spans, RecordParser<?, ?> recordParser, int first, int last) {
+			this(spans, recordParser, new ParseState(last - first), first, last);
+		}
+
+		private ParseTask (DataSpans spans, RecordParser<?, ?> recordParser, ParseState state, int first, int last) {
+			this.spans        = spans;
+			this.recordParser = recordParser;
+			this.state        = state;
+			this.first        = first;
+			this.last         = last;
+		}
+
+		@Override
+		protected void compute () {
+			//Split large runs in half
+			if (last - first > threshold) {
+				int middle = (first + last) >>> 1;
+
+				invokeAll(
+						new ParseTask(spans, recordParser, state, first,  middle),
+						new ParseTask(spans, recordParser, state, middle, last)
+				);
+				return;
+			}
+
+			//Parse each datum, stopping once an earlier datum has failed
+			for (int i = first; i < last && i < state.failureIndex; i++) {
+				try {
+					state.results[i] = recordParser.parse(spans.getSource(), spans.getStart(i), spans.getEnd(i));
+				} catch (Exception e) {
+					state.fail(i, e);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package Molecularize;
+
+/*----------------------------------------------------------------------*\
+	This class holds the outcome of parsing without throwing an
+	exception. A successful result holds the parsed value; a failed
+	result holds the reason for the error, which is one of the
+	ExceptionType values of the exception that would have been thrown,
+	along with the data and index of the error.
+\*----------------------------------------------------------------------*/
+
+public class ParseResult<T> {
+
+	//------------------[Field declarations begin here]------------------//
+
+	private T            value;             //The parsed value, or null for a failed result
+	private Enum<?>      errorReason;       //The reason for the error, or null for a successful result
+	private CharSequence data;              //The data holding the error
+	private int          start;             //The index in the data of the first character of the region
+	private int          end;               //The index in the data after the last character of the region
+	private int          index;             //The index of the error relative to the region, or -1
+
+	//-------------------[Field declarations end here]-------------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	private ParseResult (T value, Enum<?> errorReason, CharSequence data, int start, int end, int index) {
+		this.value       = value;
+		this.errorReason = errorReason;
+		this.data        = data;
+		this.start       = start;
+		this.end         = end;
+		this.index       = index;
+	}
+
+	public static <T> ParseResult<T> success (T value) {
+		return new ParseResult<T>(value, null, "", 0, 0, -1);
+	}
+
+	//Create a failed result for an error without any data
+	public static <T> ParseResult<T> failure (Enum<?> errorReason) {
+		return new ParseResult<T>(null, errorReason, "", 0, 0, -1);
+	}
+
+	//Create a failed result for invalid received data
+	public static <T> ParseResult<T> failure (Enum<?> errorReason, CharSequence data) {
+		return new ParseResult<T>(null, errorReason, data, 0, data.length(), -1);
+	}
+
+	//Create a failed result for an error in a region of data; the index is relative to the region
+	public static <T> ParseResult<T> failure (Enum<?> errorReason, CharSequence data, int start, int end, int index) {
+		return new ParseResult<T>(null, errorReason, data, start, end, index);
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//----------------------[Accessors begin here]-----------------------//
+
+	public boolean isSuccess () {
+		return errorReason == null;
+	}
+
+	//Get the parsed value, or null for a failed result
+	public T getValue () {
+		return value;
+	}
+
+	//Get the reason for the error, or null for a successful result
+	public Enum<?> getErrorReason () {
+		return errorReason;
+	}
+
+	//Copy the data holding the error out of the source
+	public String getData () {
+		return data.subSequence(start, end).toString();
+	}
+
+	//Get the index of the error in the data, or -1 if the error has no index
+	public int getIndex () {
+		return index;
+	}
+
+	//Get the data holding the error without copying it
+	CharSequence getSource () {
+		return data;
+	}
+
+	//Get the index in the source of the first character of the data holding the error
+	int getStart () {
+		return start;
+	}
+
+	//Get the index in the source after the last character of the data holding the error
+	int getEnd () {
+		return end;
+	}
+
+	//Pass a failed result on as the result of a different type of value
+	@SuppressWarnings("unchecked")
+	public <U> ParseResult<U> asFailure () {
+		//Check whether the result has a value that would be lost
+		if (isSuccess()) {
+			throw new IllegalStateException("Result is not a failure");
+		}
+
+		return (ParseResult<U>)this;
+	}
+
+	//-----------------------[Accessors end here]------------------------//
+}
@@ -0,0 +1,13 @@
+package Molecularize;
+
+/*----------------------------------------------------------------------*\
+	This interface converts one datum of a dataset into an object.
+	The datum is given as a region of the dataset so that it does not
+	need to be copied out before it is parsed.
+\*----------------------------------------------------------------------*/
+
+public interface RecordParser<T, E extends Exception> {
+
+	//Parse the datum between start (inclusive) and end (exclusive)
+	T parse (CharSequence data, int start, int end) throws DataFormatException, E;
+}
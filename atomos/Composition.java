@@ -0,0 +1,212 @@
+package Molecularize.atomos;
+
+/*----------------------------------------------------------------------*\
+	This class holds the elemental composition of a molecule: the total
+	number of atoms of each element, with every nested group multiplied
+	out, so that "Al2(SO4)3" holds 2 Al, 3 S and 12 O.
+
+	The composition is held sparsely, as an array of atomic numbers in
+	ascending order alongside an array of the number of atoms of each,
+	so that it can be compared, hashed and weighed without walking the
+	molecule. Counts are ints, as particle counts are; a molecule with
+	more atoms of an element than an int can hold has no composition,
+	and is invalid. The composition is immutable, and every array
+	returned is a copy.
+\*----------------------------------------------------------------------*/
+
+import java.util.Arrays;
+
+public final class Composition {
+
+	//------------------[Field declarations begin here]------------------//
+
+	private final int[] atomicNumbers;  //The atomic number of each element, in ascending order
+	private final int[] counts;         //The number of atoms of each element
+
+	//-------------------[Field declarations end here]-------------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	//Create a composition from arrays of the same length, which are held rather than copied
+	private Composition (int[] atomicNumbers, int[] counts) {
+		this.atomicNumbers = atomicNumbers;
+		this.counts        = counts;
+	}
+
+	//Create a composition from a dense vector of counts indexed by atomic number, leaving out zero counts
+	public static Composition fromDense (int[] dense) {
+		int numElements = 0;
+
+		for (int i = 1; i < dense.length; i++) {
+			if (dense[i] != 0) {
+				numElements++;
+			}
+		}
+
+		int[] atomicNumbers = new int[numElements];
+		int[] counts        = new int[numElements];
+
+		for (int i = 1, j = 0; i < dense.length; i++) {
+			if (dense[i] != 0) {
+				atomicNumbers[j] = i;
+				counts       [j] = dense[i];
+				j++;
+			}
+		}
+
+		return new Composition(atomicNumbers, counts);
+	}
+
+	//Create the composition of a molecule's particles, multiplying out the composition of each nested molecule.
+	//Throws ArithmeticException if the number of atoms of an element does not fit in an int.
+	static Composition of (Particle[] particles, int[] particleCounts, int numParticles) {
+		int maxAtomicNumber = 0;
+
+		//Find the size of the dense vector needed
+		for (int i = 0; i < numParticles; i++) {
+			if (particles[i] instanceof Element) {
+				maxAtomicNumber = Math.max(maxAtomicNumber, ((Element)particles[i]).getAtomicNumber());
+			} else if (particles[i] instanceof Molecule) {
+				maxAtomicNumber = Math.max(maxAtomicNumber, ((Molecule)particles[i]).getComposition().getMaxAtomicNumber());
+			}
+		}
+
+		long[] dense = new long[maxAtomicNumber + 1];
+
+		//Add the atoms of each particle, in longs so that a count too large for an int can be found
+		for (int i = 0; i < numParticles; i++) {
+			if (particles[i] instanceof Element) {
+				int atomicNumber = ((Element)particles[i]).getAtomicNumber();
+
+				//Leave out elements without a valid atomic number
+				if (atomicNumber > 0) {
+					dense[atomicNumber] = checkCount(dense[atomicNumber] + particleCounts[i]);
+				}
+			} else if (particles[i] instanceof Molecule) {
+				Composition nested = ((Molecule)particles[i]).getComposition();
+
+				for (int j = 0; j < nested.atomicNumbers.length; j++) {
+					int atomicNumber = nested.atomicNumbers[j];
+
+					dense[atomicNumber] = checkCount(dense[atomicNumber] + (long)nested.counts[j] * particleCounts[i]);
+				}
+			}
+		}
+
+		int[] counts = new int[dense.length];
+
+		for (int i = 0; i < dense.length; i++) {
+			counts[i] = (int)dense[i];
+		}
+
+		return fromDense(counts);
+	}
+
+	//Helper function for of: check that a number of atoms fits in an int
+	private static long checkCount (long count) {
+		if (count > Integer.MAX_VALUE || count < Integer.MIN_VALUE) {
+			throw new ArithmeticException("Number of atoms does not fit in an int: " + count);
+		}
+
+		return count;
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//----------------------[Accessors begin here]-----------------------//
+
+	//Get the number of distinct elements
+	public int getNumElements () {
+		return atomicNumbers.length;
+	}
+
+	//Get the atomic number of the element at a position, in ascending order of atomic number
+	public int getAtomicNumber (int index) {
+		return atomicNumbers[index];
+	}
+
+	//Get the number of atoms of the element at a position
+	public int getCountAt (int index) {
+		return counts[index];
+	}
+
+	//Get the number of atoms of an element, or 0 if it is not present
+	public int getCount (int atomicNumber) {
+		int index = Arrays.binarySearch(atomicNumbers, atomicNumber);
+		return index < 0 ? 0 : counts[index];
+	}
+
+	public int[] getAtomicNumbers () {
+		return atomicNumbers.clone();
+	}
+
+	public int[] getCounts () {
+		return counts.clone();
+	}
+
+	//Get the highest atomic number present, or 0 if there are no elements
+	public int getMaxAtomicNumber () {
+		return atomicNumbers.length == 0 ? 0 : atomicNumbers[atomicNumbers.length - 1];
+	}
+
+	//Get the total number of atoms
+	public long getNumAtoms () {
+		long output = 0;
+
+		for (int count : counts) {
+			output += count;
+		}
+
+		return output;
+	}
+
+	//Get the counts as a dense vector indexed by atomic number, with room for at least tableSize elements
+	public int[] toDense (int tableSize) {
+		int[] output = new int[Math.max(tableSize, getMaxAtomicNumber()) + 1];
+
+		for (int i = 0; i < atomicNumbers.length; i++) {
+			output[atomicNumbers[i]] = counts[i];
+		}
+
+		return output;
+	}
+
+	//Get the molar mass from the elements of a table, or -1 if an element is missing from it
+	public double getMolarMass (PeriodicTable lookUpTable) {
+		return getMolarMass(lookUpTable.getColumns());
+	}
+
+	//Get the molar mass from a columnar view of a table, or -1 if an element is missing from it
+	public double getMolarMass (ElementColumns columns) {
+		return columns.getMolarMass(atomicNumbers, counts, atomicNumbers.length);
+	}
+
+	//-----------------------[Accessors end here]------------------------//
+
+
+
+	//-----------------[Comparison functions begin here]----------------//
+
+	@Override
+	public boolean equals (Object o) {
+		//Check for a type-match
+		if (!(o instanceof Composition)) {
+			return false;
+		}
+
+		Composition other = (Composition)o;
+
+		return Arrays.equals(atomicNumbers, other.atomicNumbers) && Arrays.equals(counts, other.counts);
+	}
+
+	@Override
+	public int hashCode () {
+		return 31 * Arrays.hashCode(atomicNumbers) + Arrays.hashCode(counts);
+	}
+
+	//------------------[Comparison functions end here]-----------------//
+}
@@ -4,10 +4,32 @@ package Molecularize.atomos;
 	This class stores data about an element of the periodic table.
 \*------------------------------------------------------------------*/
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+import Molecularize.BinaryFormatException;
+import Molecularize.BinaryReader;
+import Molecularize.BinaryWriter;
+import Molecularize.DataCursor;
 import Molecularize.DataParser;
+import Molecularize.DataSpans;
+import Molecularize.DataWriter;
+import Molecularize.ParseResult;
 
 public class Element extends Particle {
 
+	//-----------------[Constant declaration begins here]----------------//
+
+	public static final int BINARY_RECORD = 'E';     //The type of a binary element record
+
+	private static final double[] NO_ISOTOPES          = new double[0];    //The isotope data of an element without any
+	private static final int      MAX_INITIAL_ISOTOPES = 16;               //The most isotopes allocated before any are read
+
+	//------------------[Constant declaration ends here]-----------------//
+
+
+
 	//------------------[Field declarations begin here]------------------//
 
 	private int    atomicNumber;        //The element's atomic number
@@ -17,22 +39,28 @@ public class Element extends Particle {
 	private String name;                //The element's name
 	private String symbol;              //The element's chemical symbol
 
+	private double[] isotopeMasses;     //The mass of each of the element's natural isotopes
+	private double[] isotopeAbundances; //The natural abundance of each isotope as a fraction, in the same order
+
 	//-------------------[Field declarations end here]-------------------//
 
 
 
 	//---------------------[Constructors begin here]---------------------//
 
-	private Element (int charge, int atomicNumber, int group, int period, int molarMass, String name, String symbol) {
+	//Create an element from values already known to be valid, such as those in StandardTableData
+	Element (int charge, int atomicNumber, int group, int period, double molarMass, String name, String symbol) {
 		super(charge);
 
-		//Initialize variables to invalid values
 		this.atomicNumber = atomicNumber;
 		this.group        = group;
 		this.period       = period;
 		this.molarMass    = molarMass;
 		this.name         = name;
 		this.symbol       = symbol;
+
+		this.isotopeMasses     = NO_ISOTOPES;
+		this.isotopeAbundances = NO_ISOTOPES;
 	}
 
 	private Element () {
@@ -45,6 +73,9 @@ public class Element extends Particle {
 		this.molarMass    = -1;
 		this.name         = "";
 		this.symbol       = "";
+
+		this.isotopeMasses     = NO_ISOTOPES;
+		this.isotopeAbundances = NO_ISOTOPES;
 	}
 
 	//Copy constructor (deep copy)
@@ -56,6 +87,18 @@ public class Element extends Particle {
 		this.molarMass    = source.getMolarMass();
 		this.name         = source.getName();
 		this.symbol       = source.getSymbol();
+
+		//Share the isotope data, which are never changed
+		this.isotopeMasses     = source.isotopeMasses;
+		this.isotopeAbundances = source.isotopeAbundances;
+	}
+
+	//Copy an element, using name and symbol strings equal to its own that are shared with other elements
+	Element (Element source, String name, String symbol) {
+		this(source);
+
+		this.name   = name;
+		this.symbol = symbol;
 	}
 
 	//----------------------[Constructors end here]----------------------//
@@ -88,6 +131,21 @@ public class Element extends Particle {
 		return symbol;
 	}
 
+	//Get the number of natural isotopes known for the element
+	public int getNumIsotopes () {
+		return isotopeMasses.length;
+	}
+
+	//Get the mass of one of the element's natural isotopes
+	public double getIsotopeMass (int index) {
+		return isotopeMasses[index];
+	}
+
+	//Get the natural abundance of one of the element's isotopes as a fraction
+	public double getIsotopeAbundance (int index) {
+		return isotopeAbundances[index];
+	}
+
 	//-----------------------[Accessors end here]-----------------------//
 
 
@@ -112,93 +170,102 @@ public class Element extends Particle {
 
 	//----------------------[Mutators begin here]-----------------------//
 
-	//Set the element's atomic number
-	private void setAtomicNumber (int atomicNumber) throws ElementDataException {
+	//Set the element's atomic number, returning whether it is valid
+	private boolean setAtomicNumber (int atomicNumber) {
 		//Check for a valid atomic number
 		if (atomicNumber > 0) {
 			this.atomicNumber = atomicNumber;
+			return true;
 		} else {
-			throw ElementDataException.create(
-					"" + atomicNumber,
-					ElementDataException.ExceptionType.INVALID_ATOMIC_NUMBER
-			);
+			return false;
 		}
 	}
 
-	//Set the element's group
-	private void setGroup (int group) throws ElementDataException {
+	//Set the element's group, returning whether it is valid
+	private boolean setGroup (int group) {
 		//Check for a valid group
 		if (group > 0) {
 			this.group = group;
+			return true;
 		} else {
-			throw ElementDataException.create(
-					"" + group,
-					ElementDataException.ExceptionType.INVALID_GROUP_NUMBER
-			);
+			return false;
 		}
 	}
 
-	//Set the element's period
-	private void setPeriod (int period) throws ElementDataException {
+	//Set the element's period, returning whether it is valid
+	private boolean setPeriod (int period) {
 		//Check for a valid period
 		if (period > 0) {
 			this.period = period;
+			return true;
 		} else {
-			throw ElementDataException.create(
-					"" + period,
-					ElementDataException.ExceptionType.INVALID_PERIOD_NUMBER
-			);
+			return false;
 		}
 	}
 
-	//Set the element's molar mass
-	private void setMolarMass(double molarMass) throws ElementDataException {
+	//Set the element's molar mass, returning whether it is valid
+	private boolean setMolarMass(double molarMass) {
 		//Check for a valid molar mass
 		if (molarMass > 0) {
 			this.molarMass = molarMass;
+			return true;
 		} else {
-			throw ElementDataException.create(
-					"" + molarMass,
-					ElementDataException.ExceptionType.INVALID_MOLAR_MASS
-			);
+			return false;
 		}
 	}
 
-	//Set the element's name
-	private void setName(String name) throws ElementDataException {
+	//Set the element's name, returning whether it is valid
+	private boolean setName(String name) {
 		//Check for a valid name
 		if (name.length() != 0 && allLetters(name)) {
 
 			//Ensure that name is lowercase
 			this.name = name.toLowerCase();
+			return true;
 		} else {
-			throw ElementDataException.create(
-					name,
-					ElementDataException.ExceptionType.INVALID_NAME
-			);
+			return false;
 		}
 	}
 
-	//Set the element's chemical symbol
-	private void setSymbol(String symbol) throws ElementDataException {
+	//Set the element's chemical symbol, returning whether it is valid
+	private boolean setSymbol(String symbol) {
 		//Check for a valid symbol
 		if (symbol.length() != 0 && allLetters(symbol)) {
 
 			//Ensure that only the first letter of the symbol is uppercase
 			symbol = symbol.toLowerCase();
 			this.symbol = (char) (symbol.charAt(0) + ('A' - 'a')) + symbol.substring(1);
+			return true;
 		} else {
-			throw ElementDataException.create(
-					"" + symbol,
-					ElementDataException.ExceptionType.INVALID_SYMBOL
-			);
+			return false;
+		}
+	}
+
+	//Set the element's isotope data, returning whether they are valid
+	private boolean setIsotopes (double[] masses, double[] abundances) {
+		//Check for a valid mass and abundance for each isotope
+		for (int i = 0; i < masses.length; i++) {
+			if (!isValidIsotope(masses[i], abundances[i])) {
+				return false;
+			}
 		}
+
+		this.isotopeMasses     = masses.length == 0 ? NO_ISOTOPES : masses;
+		this.isotopeAbundances = masses.length == 0 ? NO_ISOTOPES : abundances;
+		return true;
 	}
 
 	//-----------------------[Mutators end here]------------------------//
 
 
 
+	//Helper function for setIsotopes: check for a positive mass and an abundance between 0 and 1
+	private static boolean isValidIsotope (double mass, double abundance) {
+		return mass > 0 && abundance >= 0 && abundance <= 1;
+	}
+
+
+
 	//--------------[Element validity checking begins here]-------------//
 
 	public static boolean isValid (Element elementToSerialize) {
@@ -225,94 +292,366 @@ public class Element extends Particle {
 
 	//Serialize element data
 	public static String serialize (Element elementToSerialize) {
+		StringBuilder output = new StringBuilder();
+
+		try {
+			//Check whether the element is valid and serializable
+			if (!serialize(elementToSerialize, output)) {
+				return null;
+			}
+		} catch (IOException e) {
+			//StringBuilder does not throw IOException
+			throw new UncheckedIOException(e);
+		}
+
+		return output.toString();
+	}
+
+	//Write element data to the output, returning whether the element is valid and serializable
+	public static boolean serialize (Element elementToSerialize, Appendable output) throws IOException {
 
 		//Check whether the element is valid and serializable
 		if (!isValid(elementToSerialize)) {
-			return null;
-		} else {
-			return "{" +
-					elementToSerialize.getAtomicNumber() + "},{" +
-					elementToSerialize.getGroup()        + "},{" +
-					elementToSerialize.getPeriod()       + "},{" +
-					elementToSerialize.getMolarMass()    + "},{" +
-					elementToSerialize.getName()         + "},{" +
-					elementToSerialize.getSymbol()       + "}";
+			return false;
 		}
+
+		output.append('{');
+		DataWriter.writeInt   (output, elementToSerialize.getAtomicNumber());
+		output.append("},{");
+		DataWriter.writeInt   (output, elementToSerialize.getGroup());
+		output.append("},{");
+		DataWriter.writeInt   (output, elementToSerialize.getPeriod());
+		output.append("},{");
+		DataWriter.writeDouble(output, elementToSerialize.getMolarMass());
+		output.append("},{");
+		output.append(elementToSerialize.getName());
+		output.append("},{");
+		output.append(elementToSerialize.getSymbol());
+		output.append('}');
+
+		//Serialize isotopes, if any are known
+		if (elementToSerialize.getNumIsotopes() > 0) {
+			output.append(",{");
+
+			for (int i = 0; i < elementToSerialize.getNumIsotopes(); i++) {
+				output.append(i == 0 ? "{{" : ",{{");
+				DataWriter.writeDouble(output, elementToSerialize.getIsotopeMass(i));
+				output.append("},{");
+				DataWriter.writeDouble(output, elementToSerialize.getIsotopeAbundance(i));
+				output.append("}}");
+			}
+
+			output.append('}');
+		}
+
+		return true;
 	}
 
 	//Deserialize element data
-	public static Element deserialize (String serializedData) throws
+	public static Element deserialize (CharSequence serializedData) throws
+			Molecularize.DataFormatException, ElementDataException {
+
+		return deserialize(serializedData, 0, serializedData.length());
+	}
+
+	//Deserialize element data without throwing an exception for invalid data
+	public static ParseResult<Element> tryDeserialize (CharSequence serializedData) {
+		return tryDeserialize(serializedData, 0, serializedData.length());
+	}
+
+	//Deserialize element data from a region of a larger dataset
+	static Element deserialize (CharSequence serializedData, int start, int end) throws
 			Molecularize.DataFormatException, ElementDataException {
 
+		ParseResult<Element> result = tryDeserialize(serializedData, start, end);
+
+		//Check for badly formatted data
+		if (result.getErrorReason() instanceof Molecularize.DataFormatException.ExceptionType) {
+			throw Molecularize.DataFormatException.create(result);
+
+		//Check for invalid element data
+		} else if (!result.isSuccess()) {
+			throw ElementDataException.create(
+					result.getData(),
+					(ElementDataException.ExceptionType)result.getErrorReason()
+			);
+		}
+
+		return result.getValue();
+	}
+
+	//Deserialize element data from a region of a larger dataset without throwing an exception for invalid data
+	static ParseResult<Element> tryDeserialize (CharSequence serializedData, int start, int end) {
 		DataParser parser = new DataParser();
 
 		//Get list of separated data
-		String[] dataArray = parser.parse(serializedData);
+		ParseResult<DataSpans> parsedSpans = parser.tryParseSpans(serializedData, start, end);
 
-		//Check for the expected data length
-		if (dataArray.length != 6) {
-			throw ElementDataException.create(
-					"" + dataArray.length,
-					ElementDataException.ExceptionType.INVALID_LENGTH
+		//Check for badly formatted data
+		if (!parsedSpans.isSuccess()) {
+			return parsedSpans.asFailure();
+		}
+
+		DataSpans spans = parsedSpans.getValue();
+
+		//Check for the expected data length, with or without isotopes
+		if (spans.size() != 6 && spans.size() != 7) {
+			return ParseResult.failure(
+					ElementDataException.ExceptionType.INVALID_LENGTH,
+					"" + spans.size()
 			);
 		}
 
-		//Trim preceding and succeeding whitespace from each datum
-		for (int i = 0; i < dataArray.length; i++) {
-			dataArray[i] = dataArray[i].trim();
+		DataCursor cursor     = new DataCursor(spans);
+		Element    newElement = new Element();
+
+		//Set atomic number
+		int atomicNumber = cursor.nextInt();
+
+		if (!cursor.wasValid()) {
+			return ParseResult.failure(ElementDataException.ExceptionType.INVALID_ATOMIC_NUMBER, spans.getText(0));
+		} else if (!newElement.setAtomicNumber(atomicNumber)) {
+			return ParseResult.failure(ElementDataException.ExceptionType.INVALID_ATOMIC_NUMBER, "" + atomicNumber);
+		}
+
+		//Set group number
+		int group = cursor.nextInt();
+
+		if (!cursor.wasValid()) {
+			return ParseResult.failure(ElementDataException.ExceptionType.INVALID_GROUP_NUMBER, spans.getText(1));
+		} else if (!newElement.setGroup(group)) {
+			return ParseResult.failure(ElementDataException.ExceptionType.INVALID_GROUP_NUMBER, "" + group);
+		}
+
+		//Set period number
+		int period = cursor.nextInt();
+
+		if (!cursor.wasValid()) {
+			return ParseResult.failure(ElementDataException.ExceptionType.INVALID_PERIOD_NUMBER, spans.getText(2));
+		} else if (!newElement.setPeriod(period)) {
+			return ParseResult.failure(ElementDataException.ExceptionType.INVALID_PERIOD_NUMBER, "" + period);
+		}
+
+		//Set molar mass
+		double molarMass = cursor.nextDouble();
+
+		if (!cursor.wasValid()) {
+			return ParseResult.failure(ElementDataException.ExceptionType.INVALID_MOLAR_MASS, spans.getText(3));
+		} else if (!newElement.setMolarMass(molarMass)) {
+			return ParseResult.failure(ElementDataException.ExceptionType.INVALID_MOLAR_MASS, "" + molarMass);
+		}
+
+		//Set name
+		String name = cursor.nextName();
+
+		if (!cursor.wasValid()) {
+			return ParseResult.failure(ElementDataException.ExceptionType.INVALID_NAME, spans.getText(4));
 		}
 
+		newElement.setName(name);
+
+		//Set symbol
+		String symbol = cursor.nextSymbol();
+
+		if (!cursor.wasValid()) {
+			return ParseResult.failure(ElementDataException.ExceptionType.INVALID_SYMBOL, spans.getText(5));
+		}
+
+		newElement.setSymbol(symbol);
+
+		//Set isotopes, if any are given
+		if (spans.size() == 7) {
+			ParseResult<Void> isotopes = readIsotopes(newElement, parser, serializedData, spans.getStart(6), spans.getEnd(6));
+
+			if (!isotopes.isSuccess()) {
+				return isotopes.asFailure();
+			}
+		}
+
+		return ParseResult.success(newElement);
+	}
+
+	//Write element data as a binary record, returning whether the element is valid and serializable
+	public static boolean serializeBinary (Element elementToSerialize, BinaryWriter out) throws IOException {
+
+		//Check whether the element is valid and serializable
+		if (!isValid(elementToSerialize)) {
+			return false;
+		}
+
+		out.writeByte(BINARY_RECORD);
+		writeBinary(elementToSerialize, out);
+
+		return true;
+	}
+
+	//Read element data from a binary record
+	public static Element deserializeBinary (BinaryReader in) throws
+			IOException, BinaryFormatException, ElementDataException {
+
+		in.readRecord(BINARY_RECORD);
+
+		return readBinary(in);
+	}
+
+	//Helper function for binary serialization: write the fields of a valid element
+	static void writeBinary (Element elementToSerialize, BinaryWriter out) throws IOException {
+		out.writeVarInt(elementToSerialize.getAtomicNumber());
+		out.writeVarInt(elementToSerialize.getGroup());
+		out.writeVarInt(elementToSerialize.getPeriod());
+		out.writeDouble(elementToSerialize.getMolarMass());
+		out.writeString(elementToSerialize.getName());
+		out.writeString(elementToSerialize.getSymbol());
+		out.writeVarInt(elementToSerialize.getNumIsotopes());
+
+		for (int i = 0; i < elementToSerialize.getNumIsotopes(); i++) {
+			out.writeDouble(elementToSerialize.getIsotopeMass(i));
+			out.writeDouble(elementToSerialize.getIsotopeAbundance(i));
+		}
+	}
+
+	//Helper function for binary deserialization: read the fields of an element
+	static Element readBinary (BinaryReader in) throws IOException, BinaryFormatException, ElementDataException {
 		Element newElement = new Element();
 
 		//Set atomic number
-		try {
-			newElement.setAtomicNumber(Integer.parseInt(dataArray[0]));
-		} catch (NumberFormatException e) {
+		int atomicNumber = in.readVarInt();
+
+		if (!newElement.setAtomicNumber(atomicNumber)) {
 			throw ElementDataException.create(
-					"" + dataArray[0],
+					"" + atomicNumber,
 					ElementDataException.ExceptionType.INVALID_ATOMIC_NUMBER
 			);
 		}
 
 		//Set group number
-		try {
-			newElement.setGroup(Integer.parseInt(dataArray[1]));
-		} catch (NumberFormatException e) {
+		int group = in.readVarInt();
+
+		if (!newElement.setGroup(group)) {
 			throw ElementDataException.create(
-					"" + dataArray[1],
+					"" + group,
 					ElementDataException.ExceptionType.INVALID_GROUP_NUMBER
 			);
 		}
 
 		//Set period number
-		try {
-			newElement.setPeriod(Integer.parseInt(dataArray[2]));
-		} catch (NumberFormatException e) {
+		int period = in.readVarInt();
+
+		if (!newElement.setPeriod(period)) {
 			throw ElementDataException.create(
-					"" + dataArray[2],
+					"" + period,
 					ElementDataException.ExceptionType.INVALID_PERIOD_NUMBER
 			);
 		}
 
 		//Set molar mass
-		try {
-			newElement.setMolarMass(Double.parseDouble(dataArray[3]));
-		} catch (NumberFormatException e) {
+		double molarMass = in.readDouble();
+
+		if (!newElement.setMolarMass(molarMass)) {
 			throw ElementDataException.create(
-					"" + dataArray[3],
+					"" + molarMass,
 					ElementDataException.ExceptionType.INVALID_MOLAR_MASS
 			);
 		}
 
 		//Set name
-		newElement.setName  (dataArray[4]);
+		String name = in.readString();
+
+		if (!newElement.setName(name)) {
+			throw ElementDataException.create(
+					name,
+					ElementDataException.ExceptionType.INVALID_NAME
+			);
+		}
 
 		//Set symbol
-		newElement.setSymbol(dataArray[5]);
+		String symbol = in.readString();
+
+		if (!newElement.setSymbol(symbol)) {
+			throw ElementDataException.create(
+					symbol,
+					ElementDataException.ExceptionType.INVALID_SYMBOL
+			);
+		}
+
+		//Set isotopes, which were added in version 2 of the format
+		if (in.getVersion() >= 2) {
+			int      numIsotopes = in.readLength();
+			double[] masses      = new double[Math.min(numIsotopes, MAX_INITIAL_ISOTOPES)];
+			double[] abundances  = new double[masses.length];
+
+			for (int i = 0; i < numIsotopes; i++) {
+				//Grow the arrays as isotopes are read, so that a corrupt count cannot exhaust memory
+				if (i == masses.length) {
+					masses     = Arrays.copyOf(masses,     (int)Math.min(numIsotopes, 2L * masses.length));
+					abundances = Arrays.copyOf(abundances, masses.length);
+				}
+
+				masses    [i] = in.readDouble();
+				abundances[i] = in.readDouble();
+			}
+
+			if (!newElement.setIsotopes(masses, abundances)) {
+				throw ElementDataException.create(
+						Arrays.toString(masses),
+						ElementDataException.ExceptionType.INVALID_ISOTOPE
+				);
+			}
+		}
 
 		return newElement;
 	}
 
+	//Helper function for tryDeserialize: read isotopes from a region holding {{mass},{abundance}} for each isotope
+	private static ParseResult<Void> readIsotopes (Element newElement, DataParser parser, CharSequence serializedData,
+			int start, int end) {
+
+		ParseResult<DataSpans> parsedIsotopes = parser.tryParseSpans(serializedData, start, end);
+
+		//Check for badly formatted data
+		if (!parsedIsotopes.isSuccess()) {
+			return parsedIsotopes.asFailure();
+		}
+
+		DataSpans isotopes   = parsedIsotopes.getValue();
+		double[]  masses     = new double[isotopes.size()];
+		double[]  abundances = new double[isotopes.size()];
+
+		for (int i = 0; i < isotopes.size(); i++) {
+			ParseResult<DataSpans> parsedIsotope = parser.tryParseSpans(
+					serializedData,
+					isotopes.getStart(i),
+					isotopes.getEnd(i)
+			);
+
+			//Check for badly formatted data
+			if (!parsedIsotope.isSuccess()) {
+				return parsedIsotope.asFailure();
+			}
+
+			DataSpans  isotope = parsedIsotope.getValue();
+			DataCursor cursor  = new DataCursor(isotope);
+
+			//Check for a mass and an abundance
+			if (isotope.size() != 2) {
+				return ParseResult.failure(ElementDataException.ExceptionType.INVALID_ISOTOPE, isotopes.getText(i));
+			}
+
+			masses    [i] = cursor.nextDouble();
+			boolean valid = cursor.wasValid();
+			abundances[i] = cursor.nextDouble();
+
+			//Check for a valid mass and abundance
+			if (!valid || !cursor.wasValid() || !isValidIsotope(masses[i], abundances[i])) {
+				return ParseResult.failure(ElementDataException.ExceptionType.INVALID_ISOTOPE, isotopes.getText(i));
+			}
+		}
+
+		newElement.setIsotopes(masses, abundances);
+
+		return ParseResult.success(null);
+	}
+
 	//-----------------[Object serialization ends here]-----------------//
 
 
@@ -340,7 +679,9 @@ public class Element extends Particle {
 				this.getPeriod      () == eToCompare.getPeriod              ()  &&
 				this.getMolarMass   () == eToCompare.getMolarMass           ()  &&
 				this.getName        ().equalsIgnoreCase(eToCompare.getName  ()) &&
-				this.getSymbol      ().equalsIgnoreCase(eToCompare.getSymbol())
+				this.getSymbol      ().equalsIgnoreCase(eToCompare.getSymbol()) &&
+				Arrays.equals(this.isotopeMasses,     eToCompare.isotopeMasses)   &&
+				Arrays.equals(this.isotopeAbundances, eToCompare.isotopeAbundances)
 		);
 	}
 
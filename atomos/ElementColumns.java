@@ -0,0 +1,124 @@
+package Molecularize.atomos;
+
+/*----------------------------------------------------------------------*\
+	This class is a columnar view of the elements of a PeriodicTable.
+	Each property is held in its own array of primitives, indexed by
+	atomic number as PeriodicTable.getElement is, so that calculations
+	over many elements can run through contiguous arrays rather than
+	reading each Element object in turn.
+
+	Index 0 and the atomic numbers of missing elements hold 0 in every
+	column. Groups and periods are held as unsigned bytes; a value too
+	large to be held is also stored as 0. The view is shared by every
+	user of a table, including every thread reading a snapshot, so it
+	is immutable: the arrays are only read in place by its own
+	calculations, and every array returned is a copy.
+\*----------------------------------------------------------------------*/
+
+public class ElementColumns {
+
+	//------------------[Field declarations begin here]------------------//
+
+	private final double[] molarMasses;     //The molar mass of each element
+	private final byte[]   groups;          //The group number of each element
+	private final byte[]   periods;         //The period number of each element
+
+	//-------------------[Field declarations end here]-------------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	//Copy the properties of an elements array, as held by a PeriodicTable
+	ElementColumns (Element[] elements) {
+		this.molarMasses = new double[elements.length + 1];
+		this.groups      = new byte  [elements.length + 1];
+		this.periods     = new byte  [elements.length + 1];
+
+		for (int i = 0; i < elements.length; i++) {
+			Element curElement = elements[i];
+
+			//Leave missing elements as 0
+			if (curElement == null) {
+				continue;
+			}
+
+			molarMasses[i + 1] = curElement.getMolarMass();
+			groups     [i + 1] = toUnsignedByte(curElement.getGroup());
+			periods    [i + 1] = toUnsignedByte(curElement.getPeriod());
+		}
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//----------------------[Accessors begin here]-----------------------//
+
+	//Get the highest atomic number held
+	public int getTableSize () {
+		return molarMasses.length - 1;
+	}
+
+	//Get a copy of the molar masses by atomic number
+	public double[] getMolarMasses () {
+		return molarMasses.clone();
+	}
+
+	//Get a copy of the group numbers by atomic number, to be read as unsigned bytes
+	public byte[] getGroups () {
+		return groups.clone();
+	}
+
+	//Get a copy of the period numbers by atomic number, to be read as unsigned bytes
+	public byte[] getPeriods () {
+		return periods.clone();
+	}
+
+	//Get the molar mass of an element, or 0 if there is none
+	public double getMolarMass (int atomicNumber) {
+		return isHeld(atomicNumber) ? molarMasses[atomicNumber] : 0;
+	}
+
+	//Get the group number of an element, or 0 if there is none
+	public int getGroup (int atomicNumber) {
+		return isHeld(atomicNumber) ? groups[atomicNumber] & 0xFF : 0;
+	}
+
+	//Get the period number of an element, or 0 if there is none
+	public int getPeriod (int atomicNumber) {
+		return isHeld(atomicNumber) ? periods[atomicNumber] & 0xFF : 0;
+	}
+
+	//Get the total molar mass of a number of atoms of each element, or -1 if an element is missing
+	public double getMolarMass (int[] atomicNumbers, int[] counts, int length) {
+		double output = 0;
+
+		for (int i = 0; i < length; i++) {
+			int atomicNumber = atomicNumbers[i];
+
+			//Check whether the element is in the table
+			if (!isHeld(atomicNumber) || molarMasses[atomicNumber] == 0) {
+				return -1;
+			}
+
+			output += molarMasses[atomicNumber] * counts[i];
+		}
+
+		return output;
+	}
+
+	//-----------------------[Accessors end here]------------------------//
+
+
+
+	//Helper function for accessors: check whether an atomic number is within the columns
+	private boolean isHeld (int atomicNumber) {
+		return atomicNumber > 0 && atomicNumber < molarMasses.length;
+	}
+
+	//Helper function for the constructor: store a positive value as an unsigned byte, or 0 if it does not fit
+	private static byte toUnsignedByte (int value) {
+		return value > 0 && value <= 0xFF ? (byte)value : 0;
+	}
+}
@@ -4,6 +4,8 @@ package Molecularize.atomos;
 	This class handles invalid Element deserialization.
 \*-------------------------------------------------------*/
 
+import Molecularize.ExceptionSettings;
+
 public class ElementDataException extends Exception {
 
 	//-----------------[Constant declaration begins here]----------------//
@@ -16,6 +18,7 @@ public class ElementDataException extends Exception {
 		INVALID_MOLAR_MASS,         //Non-positive molar mass
 		INVALID_NAME,               //Zero-length chemical name
 		INVALID_SYMBOL,             //Zero-length chemical symbol
+		INVALID_ISOTOPE,            //Isotope without a positive mass and an abundance between 0 and 1
 		INVALID_LENGTH              //No data found
 	}
 
@@ -32,8 +35,10 @@ public class ElementDataException extends Exception {
 			"Expecting non-empty alphabetical name; received: ";
 	public static final String INVALID_SYMBOL_MESSAGE        =
 			"Expecting non-empty alphabetical symbol; received: ";
+	public static final String INVALID_ISOTOPE_MESSAGE       =
+			"Expecting positive isotope mass and abundance between 0 and 1; received: ";
 	public static final String INVALID_LENGTH_MESSAGE        =
-			"Expecting six data blocks; received ";
+			"Expecting six or seven data blocks; received ";
 
 	//------------------[Constant declaration ends here]-----------------//
 
@@ -41,8 +46,9 @@ public class ElementDataException extends Exception {
 
 	//-----------------[Variable declaration begins here]----------------//
 
-	private String        data;
-	private ExceptionType errorReason;
+	private String        data;             //Received data, or an excerpt of it in lightweight mode
+	private ExceptionType errorReason;      //Reason for the error
+	private String        message;          //Error message, created when first requested
 
 	//------------------[Variable declaration ends here]-----------------//
 
@@ -50,47 +56,22 @@ public class ElementDataException extends Exception {
 
 	//---------------------[Constructors begin here]---------------------//
 
-	private ElementDataException (String message, String data, ExceptionType errorReason) {
-		super(message);
+	private ElementDataException (String data, ExceptionType errorReason, boolean lightweight) {
+		super(null, null, !lightweight, !lightweight);
 		this.data        = data;
 		this.errorReason = errorReason;
+		this.message     = null;
 	}
 
 	public static ElementDataException create (String data, ExceptionType errorReason) {
-		StringBuilder message = new StringBuilder();
-
-		//Determine required message based on the cause of the exception
-		switch (errorReason) {
-			case INVALID_ATOMIC_NUMBER:
-				message.append(INVALID_ATOMIC_NUMBER_MESSAGE);
-				break;
-			case INVALID_GROUP_NUMBER:
-				message.append(INVALID_GROUP_NUMBER_MESSAGE);
-				break;
-			case INVALID_PERIOD_NUMBER:
-				message.append(INVALID_PERIOD_NUMBER_MESSAGE);
-				break;
-			case INVALID_MOLAR_MASS:
-				message.append(INVALID_MOLAR_MASS_MESSAGE);
-				break;
-			case INVALID_NAME:
-				message.append(INVALID_NAME_MESSAGE);
-				break;
-			case INVALID_SYMBOL:
-				message.append(INVALID_SYMBOL_MESSAGE);
-				break;
-			default:
-				message.append(INVALID_LENGTH_MESSAGE);
-		}
+		boolean lightweight = ExceptionSettings.isLightweight();
 
-		//Append given data
-		if (errorReason != ExceptionType.INVALID_LENGTH) {
-			message.append("\"").append(data).append("\"");
-		} else {
-			message.append(data);
+		//Only keep the beginning of the data in lightweight mode
+		if (lightweight) {
+			data = ExceptionSettings.excerpt(data, 0, data.length(), 0);
 		}
 
-		return new ElementDataException(message.toString(), data, errorReason);
+		return new ElementDataException(data, errorReason, lightweight);
 	}
 
 	//----------------------[Constructors end here]----------------------//
@@ -107,5 +88,51 @@ public class ElementDataException extends Exception {
 		return errorReason;
 	}
 
+	@Override
+	public String getMessage() {
+		//Create the message when it is first requested
+		if (message == null) {
+			StringBuilder message = new StringBuilder();
+
+			//Determine required message based on the cause of the exception
+			switch (errorReason) {
+				case INVALID_ATOMIC_NUMBER:
+					message.append(INVALID_ATOMIC_NUMBER_MESSAGE);
+					break;
+				case INVALID_GROUP_NUMBER:
+					message.append(INVALID_GROUP_NUMBER_MESSAGE);
+					break;
+				case INVALID_PERIOD_NUMBER:
+					message.append(INVALID_PERIOD_NUMBER_MESSAGE);
+					break;
+				case INVALID_MOLAR_MASS:
+					message.append(INVALID_MOLAR_MASS_MESSAGE);
+					break;
+				case INVALID_NAME:
+					message.append(INVALID_NAME_MESSAGE);
+					break;
+				case INVALID_SYMBOL:
+					message.append(INVALID_SYMBOL_MESSAGE);
+					break;
+				case INVALID_ISOTOPE:
+					message.append(INVALID_ISOTOPE_MESSAGE);
+					break;
+				default:
+					message.append(INVALID_LENGTH_MESSAGE);
+			}
+
+			//Append given data
+			if (errorReason != ExceptionType.INVALID_LENGTH) {
+				message.append("\"").append(data).append("\"");
+			} else {
+				message.append(data);
+			}
+
+			this.message = message.toString();
+		}
+
+		return message;
+	}
+
 	//-----------------------[Accessors end here]------------------------//
 }
@@ -0,0 +1,217 @@
+package Molecularize.atomos;
+
+/*----------------------------------------------------------------------*\
+	This class indexes the elements of a PeriodicTable by symbol or by
+	name, so that they can be found without scanning the table.
+
+	Positions in the table's elements array are kept in an open
+	addressing hash table with linear probing. The hash table has at
+	least twice as many slots as the elements array, so it never needs
+	to grow. When several elements share a key, the one at the lowest
+	position is indexed, as a scan of the table would find it first.
+
+	Keys are always hashed ignoring case, so that keys differing only
+	in case share a probe sequence and can also be found ignoring case.
+\*----------------------------------------------------------------------*/
+
+class ElementIndex {
+
+	//------------------[Field declarations begin here]------------------//
+
+	private boolean   ignoreCase;       //Whether or not keys are names compared ignoring case, rather than symbols
+	private Element[] elements;         //The elements being indexed
+	private int[]     slots;            //The position of the element in each slot plus one, or 0 for an empty slot
+	private int       mask;             //The number of slots minus one
+
+	//-------------------[Field declarations end here]-------------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	//Index the elements of a table by name if ignoreCase is true, or by symbol otherwise
+	ElementIndex (Element[] elements, boolean ignoreCase) {
+		this.ignoreCase = ignoreCase;
+		this.elements   = elements;
+
+		int numSlots = 2;
+
+		while (numSlots < 2 * elements.length) {
+			numSlots *= 2;
+		}
+
+		this.slots = new int[numSlots];
+		this.mask  = numSlots - 1;
+
+		//Index each element
+		for (int i = 0; i < elements.length; i++) {
+			add(i);
+		}
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//----------------------[Accessors begin here]-----------------------//
+
+	//Get the position of the element with the key held in a region of data, or -1 if there is none
+	int find (CharSequence data, int start, int end) {
+		for (int slot = hash(data, start, end) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+			String key = keyOf(elements[slots[slot] - 1]);
+
+			if (keyEquals(key, data, start, end)) {
+				return slots[slot] - 1;
+			}
+		}
+
+		return -1;
+	}
+
+	//Check whether an element has the key held in a region of data, ignoring case
+	boolean containsIgnoringCase (CharSequence data, int start, int end) {
+		for (int slot = hash(data, start, end) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+			String key = keyOf(elements[slots[slot] - 1]);
+
+			if (keyEquals(key, data, start, end, true)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	//-----------------------[Accessors end here]------------------------//
+
+
+
+	//-----------------------[Mutators begin here]-----------------------//
+
+	//Index the element at a position of the elements array
+	void add (int position) {
+		//Check whether there is an element to index
+		if (elements[position] == null) {
+			return;
+		}
+
+		String key  = keyOf(elements[position]);
+		int    slot = hash(key, 0, key.length()) & mask;
+
+		//Find the key, or an empty slot for it
+		for (; slots[slot] != 0; slot = (slot + 1) & mask) {
+			if (keyEquals(keyOf(elements[slots[slot] - 1]), key, 0, key.length())) {
+
+				//Keep the element found first by a scan of the table
+				if (position < slots[slot] - 1) {
+					slots[slot] = position + 1;
+				}
+
+				return;
+			}
+		}
+
+		slots[slot] = position + 1;
+	}
+
+	//Stop indexing the element at a position of the elements array, before it is removed or replaced
+	void remove (int position) {
+		//Check whether there is an element indexed
+		if (elements[position] == null) {
+			return;
+		}
+
+		String key = keyOf(elements[position]);
+
+		//Find the slot holding the position
+		int slot = hash(key, 0, key.length()) & mask;
+
+		while (slots[slot] != 0 && slots[slot] != position + 1) {
+			slot = (slot + 1) & mask;
+		}
+
+		//Check whether another element with the same key was indexed instead
+		if (slots[slot] == 0) {
+			return;
+		}
+
+		removeSlot(slot);
+
+		//Index the next element with the same key, if there is one
+		for (int i = 0; i < elements.length; i++) {
+			if (i != position && elements[i] != null && keyEquals(keyOf(elements[i]), key, 0, key.length())) {
+				add(i);
+				break;
+			}
+		}
+	}
+
+	//------------------------[Mutators end here]------------------------//
+
+
+
+	//Helper function for remove: empty a slot, moving later entries of its probe sequence back to fill the gap
+	private void removeSlot (int slot) {
+		slots[slot] = 0;
+
+		for (int next = (slot + 1) & mask; slots[next] != 0; next = (next + 1) & mask) {
+			String key  = keyOf(elements[slots[next] - 1]);
+			int    home = hash(key, 0, key.length()) & mask;
+
+			//Move the entry back if the gap lies between its home slot and its current slot
+			boolean canMove = slot <= next ?
+					home <= slot || home > next :
+					home <= slot && home > next;
+
+			if (canMove) {
+				slots[slot] = slots[next];
+				slots[next] = 0;
+				slot        = next;
+			}
+		}
+	}
+
+	//Helper function for indexing: get the key of an element
+	private String keyOf (Element element) {
+		return ignoreCase ? element.getName() : element.getSymbol();
+	}
+
+	//Helper function for indexing: hash a key, ignoring case
+	private static int hash (CharSequence data, int start, int end) {
+		int hash = 0;
+
+		for (int i = start; i < end; i++) {
+			hash = 31 * hash + foldCase(data.charAt(i));
+		}
+
+		return hash ^ (hash >>> 16);
+	}
+
+	//Helper function for indexing: check whether a key is equal to a region of data, ignoring case if required
+	private boolean keyEquals (String key, CharSequence data, int start, int end) {
+		return keyEquals(key, data, start, end, ignoreCase);
+	}
+
+	//Helper function for indexing: check whether a key is equal to a region of data
+	private static boolean keyEquals (String key, CharSequence data, int start, int end, boolean ignoreCase) {
+		//Check for a different length
+		if (key.length() != end - start) {
+			return false;
+		}
+
+		for (int i = 0; i < key.length(); i++) {
+			char keyChar  = key.charAt(i);
+			char dataChar = data.charAt(start + i);
+
+			if (keyChar != dataChar && (!ignoreCase || foldCase(keyChar) != foldCase(dataChar))) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	//Helper function for indexing: fold the case of a character as String.equalsIgnoreCase does
+	private static char foldCase (char curChar) {
+		return Character.toLowerCase(Character.toUpperCase(curChar));
+	}
+}
@@ -0,0 +1,247 @@
+package Molecularize.atomos;
+
+/*----------------------------------------------------------------------*\
+	This class indexes the elements of a PeriodicTable by group, period
+	and molar mass, so that range queries need not scan the table.
+
+	The members of each group and period are kept both as a BitSet of
+	atomic numbers and as an array of elements in order of atomic
+	number, found by binary search over the sorted keys. The elements
+	are also kept in order of molar mass, alongside a sorted array of
+	their masses. The index is immutable once created, and every array
+	or BitSet returned is a copy.
+\*----------------------------------------------------------------------*/
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+
+class ElementRanges {
+
+	//-----------------[Constant declaration begins here]----------------//
+
+	private static final Element[] NO_ELEMENTS = new Element[0];
+
+	//------------------[Constant declaration ends here]-----------------//
+
+
+
+	//------------------[Field declarations begin here]------------------//
+
+	private final int[]       groupKeys;        //Each group number held, in ascending order
+	private final BitSet[]    groupMembers;     //The atomic numbers of the elements in each group
+	private final Element[][] groupElements;    //The elements in each group
+	private final int[]       periodKeys;       //Each period number held, in ascending order
+	private final BitSet[]    periodMembers;    //The atomic numbers of the elements in each period
+	private final Element[][] periodElements;   //The elements in each period
+	private final Element[]   massOrder;        //The elements in order of molar mass
+	private final double[]    masses;           //The molar mass of each element in massOrder
+
+	//-------------------[Field declarations end here]-------------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	//Index an elements array, as held by a PeriodicTable, taking the atomic number of each from its position
+	ElementRanges (Element[] elements) {
+		int[] groups  = new int[elements.length];
+		int[] periods = new int[elements.length];
+
+		//Find the group and period of each element
+		for (int i = 0; i < elements.length; i++) {
+			groups [i] = elements[i] == null ? 0 : elements[i].getGroup();
+			periods[i] = elements[i] == null ? 0 : elements[i].getPeriod();
+		}
+
+		this.groupKeys      = distinctKeys(elements, groups);
+		this.groupMembers   = new BitSet[groupKeys.length];
+		this.groupElements  = collect(elements, groups, groupKeys, groupMembers);
+		this.periodKeys     = distinctKeys(elements, periods);
+		this.periodMembers  = new BitSet[periodKeys.length];
+		this.periodElements = collect(elements, periods, periodKeys, periodMembers);
+
+		//Sort the elements by molar mass, keeping elements of equal mass in order of atomic number
+		this.massOrder = collect(elements);
+
+		Arrays.sort(massOrder, new Comparator<Element>() {
+			@Override
+			public int compare (Element a, Element b) {
+				return Double.compare(a.getMolarMass(), b.getMolarMass());
+			}
+		});
+
+		this.masses = new double[massOrder.length];
+
+		for (int i = 0; i < massOrder.length; i++) {
+			masses[i] = massOrder[i].getMolarMass();
+		}
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//----------------------[Accessors begin here]-----------------------//
+
+	Element[] getElementsInGroup (int group) {
+		int key = Arrays.binarySearch(groupKeys, group);
+		return key < 0 ? NO_ELEMENTS : groupElements[key].clone();
+	}
+
+	Element[] getElementsInPeriod (int period) {
+		int key = Arrays.binarySearch(periodKeys, period);
+		return key < 0 ? NO_ELEMENTS : periodElements[key].clone();
+	}
+
+	BitSet getGroupMembers (int group) {
+		int key = Arrays.binarySearch(groupKeys, group);
+		return key < 0 ? new BitSet() : (BitSet)groupMembers[key].clone();
+	}
+
+	BitSet getPeriodMembers (int period) {
+		int key = Arrays.binarySearch(periodKeys, period);
+		return key < 0 ? new BitSet() : (BitSet)periodMembers[key].clone();
+	}
+
+	//Get the elements with a molar mass from minMass to maxMass inclusive, in order of molar mass
+	Element[] getElementsInMassRange (double minMass, double maxMass) {
+		//Check for an empty range
+		if (!(minMass <= maxMass)) {
+			return NO_ELEMENTS;
+		}
+
+		int start = firstAtLeast(minMass);
+		int end   = start;
+
+		while (end < masses.length && masses[end] <= maxMass) {
+			end++;
+		}
+
+		return Arrays.copyOfRange(massOrder, start, end);
+	}
+
+	//Get the element with the molar mass closest to a mass, preferring the lighter of two equally close masses and
+	//the lowest atomic number among elements of equal mass, or null if there are no elements or the mass is not a
+	//number
+	Element getNearestElementByMass (double mass) {
+		//Check for elements to compare against
+		if (masses.length == 0 || Double.isNaN(mass)) {
+			return null;
+		}
+
+		int above = firstAtLeast(mass);
+		int nearest;
+
+		//Check for a mass beyond either end of the table
+		if (above == 0) {
+			nearest = 0;
+		} else if (above == masses.length) {
+			nearest = above - 1;
+		} else {
+			nearest = mass - masses[above - 1] <= masses[above] - mass ? above - 1 : above;
+		}
+
+		//Move to the first element of equal mass
+		return massOrder[firstAtLeast(masses[nearest])];
+	}
+
+	//-----------------------[Accessors end here]------------------------//
+
+
+
+	//Helper function for mass queries: find the position of the first element at least as heavy as a mass
+	private int firstAtLeast (double mass) {
+		int low  = 0;
+		int high = masses.length;
+
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+
+			if (masses[middle] < mass) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		return low;
+	}
+
+	//Helper function for the constructor: get the distinct keys of the elements present, in ascending order
+	private static int[] distinctKeys (Element[] elements, int[] keys) {
+		int[] sorted      = new int[elements.length];
+		int   numElements = 0;
+
+		for (int i = 0; i < elements.length; i++) {
+			if (elements[i] != null) {
+				sorted[numElements++] = keys[i];
+			}
+		}
+
+		Arrays.sort(sorted, 0, numElements);
+
+		int numKeys = 0;
+
+		//Remove repeated keys
+		for (int i = 0; i < numElements; i++) {
+			if (numKeys == 0 || sorted[i] != sorted[numKeys - 1]) {
+				sorted[numKeys++] = sorted[i];
+			}
+		}
+
+		return Arrays.copyOf(sorted, numKeys);
+	}
+
+	//Helper function for the constructor: find the members of each key, filling in their atomic numbers
+	private static Element[][] collect (Element[] elements, int[] keys, int[] distinctKeys, BitSet[] members) {
+		Element[][] output = new Element[distinctKeys.length][];
+		int[]       counts = new int    [distinctKeys.length];
+
+		for (int i = 0; i < members.length; i++) {
+			members[i] = new BitSet(elements.length + 1);
+		}
+
+		//Mark the atomic number of each element in its key's members
+		for (int i = 0; i < elements.length; i++) {
+			if (elements[i] != null) {
+				int key = Arrays.binarySearch(distinctKeys, keys[i]);
+
+				members[key].set(i + 1);
+				counts [key]++;
+			}
+		}
+
+		//List the elements of each key in order of atomic number
+		for (int key = 0; key < distinctKeys.length; key++) {
+			output[key] = new Element[counts[key]];
+
+			for (int bit = members[key].nextSetBit(0), j = 0; bit >= 0; bit = members[key].nextSetBit(bit + 1)) {
+				output[key][j++] = elements[bit - 1];
+			}
+		}
+
+		return output;
+	}
+
+	//Helper function for the constructor: get the elements present, in order of atomic number
+	private static Element[] collect (Element[] elements) {
+		int numElements = 0;
+
+		for (Element curElement : elements) {
+			if (curElement != null) {
+				numElements++;
+			}
+		}
+
+		Element[] output = new Element[numElements];
+
+		for (int i = 0, j = 0; i < elements.length; i++) {
+			if (elements[i] != null) {
+				output[j++] = elements[i];
+			}
+		}
+
+		return output;
+	}
+}
@@ -0,0 +1,354 @@
+package Molecularize.atomos;
+
+/*----------------------------------------------------------------------*\
+	This class parses molecular formulas, such as "K4(Fe(CN)6)", into
+	Molecules. Each formula is read once, left to right, straight from
+	its characters: bracketed groups are parsed recursively as they are
+	reached, and symbols are looked up in place, without removing the
+	spaces from the formula or copying any part of it.
+
+	Particles are collected on a stack shared by every level of nesting
+	and copied into each Molecule once its level is complete, so the
+	only objects created for a valid formula are the molecules. The
+	stack is kept between formulas, so a parser should be reused; it is
+	not thread-safe, and forCurrentThread gives each thread its own.
+
+	Errors are reported as the original two-pass parser reported them.
+	At each level, an invalid character is reported first, then any
+	bracket imbalance, then the first element that cannot be found or
+	bracketed group that is invalid, in order from left to right.
+\*----------------------------------------------------------------------*/
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+import Molecularize.ParseResult;
+
+public class FormulaParser {
+
+	//-----------------[Constant declaration begins here]----------------//
+
+	private static final int INITIAL_CAPACITY = 16;     //The number of particles and symbol letters first allocated
+
+	//A parser for each thread
+	private static final ThreadLocal<FormulaParser> THREAD_PARSERS = new ThreadLocal<FormulaParser>() {
+		@Override
+		protected FormulaParser initialValue () {
+			return new FormulaParser();
+		}
+	};
+
+	//------------------[Constant declaration ends here]-----------------//
+
+
+
+	//------------------[Field declarations begin here]------------------//
+
+	private CharSequence  formula;          //The formula being parsed
+	private PeriodicTable lookUpTable;      //The table used to find elements
+	private int           position;         //The index of the next character
+	private boolean       unterminated;     //Whether or not the formula ended inside a bracketed group
+	private Particle[]    particles;        //The particles of every level being parsed
+	private int[]         counts;           //The number of each particle
+	private int           numParticles;     //The number of particles on the stack
+	private int           maxParticles;     //The most particles on the stack while parsing the current formula
+	private char[]        letters;          //The letters of a symbol written with spaces between them
+	private CharBuffer    lettersBuffer;    //The letters as a CharSequence
+
+	//-------------------[Field declarations end here]-------------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	public FormulaParser () {
+		this.particles     = new Particle[INITIAL_CAPACITY];
+		this.counts        = new int     [INITIAL_CAPACITY];
+		this.letters       = new char    [INITIAL_CAPACITY];
+		this.lettersBuffer = CharBuffer.wrap(letters);
+	}
+
+	//Get the parser of the current thread
+	public static FormulaParser forCurrentThread () {
+		return THREAD_PARSERS.get();
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//--------------------[Formula parsing begins here]------------------//
+
+	//Get molecule from molecular formula without throwing an exception for an invalid formula
+	public ParseResult<Molecule> parse (CharSequence molecularFormula, PeriodicTable lookUpTable) {
+		this.formula      = molecularFormula;
+		this.lookUpTable  = lookUpTable;
+		this.position     = 0;
+		this.unterminated = false;
+		this.numParticles = 0;
+		this.maxParticles = 0;
+
+		try {
+			MoleculeDataException.ExceptionType errorReason = parseLevel(false);
+
+			//Check for an unclosed bracket
+			if (unterminated) {
+				return ParseResult.failure(MoleculeDataException.ExceptionType.BRACKET_IMBALANCE);
+			} else if (errorReason != null) {
+				return ParseResult.failure(errorReason);
+			}
+
+			return ParseResult.success(popMolecule(0));
+		} finally {
+			//Let go of the formula, the table and their elements
+			this.formula     = null;
+			this.lookUpTable = null;
+			Arrays.fill(particles, 0, maxParticles, null);
+		}
+	}
+
+	//--------------------[Formula parsing ends here]--------------------//
+
+
+
+	//Helper function for parse: parse the formula, or a bracketed group once its open bracket has been read, leaving
+	//its particles on the stack. Returns the reason the level is invalid, or null if it is valid or unterminated.
+	private MoleculeDataException.ExceptionType parseLevel (boolean nested) {
+		MoleculeDataException.ExceptionType errorReason = null;    //The first invalid element or group found
+
+		int     base          = numParticles;   //The position on the stack of the level's first particle
+		int     count         = 0;              //The number written after the last particle
+		int     symbolStart   = -1;             //The index of the first letter of the symbol being read, or -1
+		int     symbolEnd     = -1;             //The index after the last letter of the symbol being read
+		int     symbolLength  = 0;              //The number of letters in the symbol being read
+		boolean afterSymbol   = false;          //Whether or not a symbol has begun since the last digit
+		boolean first         = true;           //Whether or not no character has been read at this level
+
+		while (true) {
+			//Check for the end of the formula
+			if (position == formula.length()) {
+				if (nested) {
+					unterminated = true;
+					return null;
+				} else if (first) {
+					return MoleculeDataException.ExceptionType.INVALID_MOLECULE_FORMAT;
+				}
+
+				break;
+			}
+
+			char curChar = formula.charAt(position);
+
+			//Skip spaces wherever they are
+			if (curChar == ' ') {
+				position++;
+				continue;
+			}
+
+			//Check for the end of a bracketed group, which is invalid if empty
+			if (nested && curChar == ')') {
+				position++;
+
+				if (first) {
+					return MoleculeDataException.ExceptionType.INVALID_MOLECULE_FORMAT;
+				}
+
+				break;
+			}
+
+			//Check for an invalid start character, or any other invalid character
+			boolean valid = first ?
+					curChar == '(' || isUppercase(curChar) :
+					curChar == '(' || isUppercase(curChar) || isDigit(curChar) ||
+							(isLowercase(curChar) && (symbolStart >= 0 || afterSymbol));
+
+			if (!valid) {
+				return invalidLevel(nested);
+			}
+
+			first = false;
+
+			//Handle lowercase letters, which continue a symbol or are ignored after a bracketed group within a symbol
+			if (isLowercase(curChar)) {
+				if (symbolStart >= 0) {
+					symbolEnd = position + 1;
+					symbolLength++;
+				}
+
+				position++;
+				continue;
+			}
+
+			//Handle the end of a symbol
+			if (symbolStart >= 0) {
+				if (errorReason == null) {
+					errorReason = pushElement(symbolStart, symbolEnd, symbolLength);
+				}
+
+				symbolStart = -1;
+			}
+
+			//Handle numbers
+			if (isDigit(curChar)) {
+				afterSymbol = false;
+				count       = (count * 10) + (curChar - '0');
+				position++;
+				continue;
+			}
+
+			//Set the count of the preceding particle
+			if (errorReason == null && numParticles > base) {
+				counts[numParticles - 1] = Math.max(1, count);
+			}
+
+			count = 0;
+
+			//Handle beginning of symbol
+			if (isUppercase(curChar)) {
+				afterSymbol  = true;
+				symbolStart  = position;
+				symbolEnd    = position + 1;
+				symbolLength = 1;
+				position++;
+
+			//Handle bracketed groups
+			} else {
+				int groupBase = numParticles;
+
+				position++;
+
+				MoleculeDataException.ExceptionType groupErrorReason = parseLevel(true);
+
+				//Check for an unclosed bracket, which ends the formula
+				if (unterminated) {
+					return null;
+				}
+
+				if (errorReason == null && groupErrorReason != null) {
+					errorReason = groupErrorReason;
+				}
+
+				//Add the group as a nested molecule
+				if (errorReason == null) {
+					push(popMolecule(groupBase));
+				} else {
+					numParticles = groupBase;
+				}
+			}
+		}
+
+		//Handle a symbol at the end of the level
+		if (symbolStart >= 0 && errorReason == null) {
+			errorReason = pushElement(symbolStart, symbolEnd, symbolLength);
+		}
+
+		//Set the count of the last particle
+		if (errorReason == null && numParticles > base) {
+			counts[numParticles - 1] = Math.max(1, count);
+		}
+
+		return errorReason;
+	}
+
+	//Helper function for parseLevel: skip the rest of an invalid level, returning the reason it is invalid
+	private MoleculeDataException.ExceptionType invalidLevel (boolean nested) {
+		//Skip to the end of a bracketed group, so that the enclosing level can be checked
+		if (nested) {
+			int openBracketCount = 0;
+
+			for (; position < formula.length(); position++) {
+				char curChar = formula.charAt(position);
+
+				if (curChar == '(') {
+					openBracketCount++;
+				} else if (curChar == ')' && openBracketCount-- == 0) {
+					position++;
+					return MoleculeDataException.ExceptionType.INVALID_MOLECULE_FORMAT;
+				}
+			}
+
+			unterminated = true;
+		}
+
+		return MoleculeDataException.ExceptionType.INVALID_MOLECULE_FORMAT;
+	}
+
+	//Helper function for parseLevel: look up a symbol and push its element, returning the reason it is invalid, if it is
+	private MoleculeDataException.ExceptionType pushElement (int symbolStart, int symbolEnd, int symbolLength) {
+		Element element;
+
+		//Look up the symbol in place, unless spaces were written between its letters
+		if (symbolEnd - symbolStart == symbolLength) {
+			element = lookUpTable.getElementBySymbol(formula, symbolStart, symbolEnd);
+		} else {
+			element = lookUpTable.getElementBySymbol(collectLetters(symbolStart, symbolEnd), 0, symbolLength);
+		}
+
+		//Check whether element could be found
+		if (element == null) {
+			return MoleculeDataException.ExceptionType.ELEMENT_NOT_FOUND;
+		}
+
+		push(element);
+
+		return null;
+	}
+
+	//Helper function for pushElement: get the letters of a symbol written with spaces between them
+	private CharSequence collectLetters (int symbolStart, int symbolEnd) {
+		//Make room for every character of the symbol
+		if (letters.length < symbolEnd - symbolStart) {
+			letters       = new char[symbolEnd - symbolStart];
+			lettersBuffer = CharBuffer.wrap(letters);
+		}
+
+		int numLetters = 0;
+
+		for (int i = symbolStart; i < symbolEnd; i++) {
+			if (formula.charAt(i) != ' ') {
+				letters[numLetters++] = formula.charAt(i);
+			}
+		}
+
+		return lettersBuffer;
+	}
+
+	//Helper function for parseLevel: push a particle with a count of one
+	private void push (Particle particle) {
+		//Make room for the particle
+		if (numParticles == particles.length) {
+			particles = Arrays.copyOf(particles, 2 * numParticles);
+			counts    = Arrays.copyOf(counts,    2 * numParticles);
+		}
+
+		particles[numParticles] = particle;
+		counts   [numParticles] = 1;
+		numParticles++;
+
+		maxParticles = Math.max(maxParticles, numParticles);
+	}
+
+	//Helper function for parsing: pop the particles of a level into a molecule
+	private Molecule popMolecule (int base) {
+		Molecule molecule = new Molecule(
+				Arrays.copyOfRange(particles, base, numParticles),
+				Arrays.copyOfRange(counts,    base, numParticles)
+		);
+
+		numParticles = base;
+
+		return molecule;
+	}
+
+	private static boolean isUppercase (char curChar) {
+		return curChar >= 'A' && curChar <= 'Z';
+	}
+
+	private static boolean isLowercase (char curChar) {
+		return curChar >= 'a' && curChar <= 'z';
+	}
+
+	private static boolean isDigit (char curChar) {
+		return curChar >= '0' && curChar <= '9';
+	}
+}
@@ -0,0 +1,173 @@
+package Molecularize.atomos;
+
+/*----------------------------------------------------------------------*\
+	This class loads periodic tables and molecules from memory-mapped
+	files. Data are parsed directly from the mapped bytes, without
+	reading the file onto the heap or decoding it into a String.
+\*----------------------------------------------------------------------*/
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import Molecularize.ByteSequence;
+import Molecularize.DataFormatException;
+import Molecularize.DataParser;
+import Molecularize.ExceptionSettings;
+
+public class MappedDataLoader {
+
+	//-----------------[Constant declaration begins here]----------------//
+
+	static final int MAX_WINDOW_SIZE = Integer.MAX_VALUE;  //The largest region of a file that can be mapped at once
+
+	//------------------[Constant declaration ends here]-----------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	private MappedDataLoader () {
+
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//---------------------[Data loading begins here]--------------------//
+
+	//Load a periodic table file, such as res/standard.ptbl
+	public static PeriodicTable loadPeriodicTable (Path file) throws
+			IOException, DataFormatException, PeriodicTableDataException {
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			//Check whether the file can be mapped at once
+			if (channel.size() > MAX_WINDOW_SIZE) {
+				throw new IOException("Periodic table file is too large to map: " + file);
+			}
+
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+			return PeriodicTable.deserialize(new ByteSequence(buffer));
+		}
+	}
+
+	//Load a file of serialized molecules, each enclosed in its own datum
+	public static List<Molecule> loadMolecules (Path file, PeriodicTable lookUpTable) throws
+			IOException, DataFormatException, MoleculeDataException {
+
+		List<Molecule> molecules = new ArrayList<Molecule>();
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long    fileSize           = channel.size();
+			long    windowStart        = 0;         //The index in the file of the first mapped byte
+			boolean expectingSeparator = false;     //Whether or not a separator is expected
+
+			//Check for a valid data file
+			if (fileSize == 0) {
+				throw DataFormatException.create(
+						"",
+						0,
+						DataFormatException.ExceptionType.NO_DATA
+				);
+			}
+
+			//Map the file one window at a time
+			while (windowStart < fileSize) {
+				long         windowSize   = Math.min(fileSize - windowStart, MAX_WINDOW_SIZE);
+				boolean      isLastWindow = windowStart + windowSize == fileSize;
+				ByteSequence window       = new ByteSequence(
+						channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowSize)
+				);
+
+				int openBracketCount = 0;   //The net number of open brackets
+				int moleculeStart    = 0;   //The index after the open bracket of the current molecule
+				int windowEnd        = 0;   //The index after the last complete molecule in the window
+
+				//Locate each molecule in the window
+				for (int i = 0; i < window.length(); i++) {
+					char curChar = window.charAt(i);
+
+					//Check for whitespace
+					if (DataParser.isWhitespace(curChar)) {
+						continue;
+					}
+
+					//Check for data separator
+					if (expectingSeparator) {
+						if (curChar == ',') {
+							expectingSeparator = false;
+						} else {
+							throw createException(window, windowStart, i,
+									DataFormatException.ExceptionType.EXPECTING_SEPARATOR);
+						}
+
+					//Check for invalid beginning of molecule
+					} else if (openBracketCount == 0 && curChar != '{') {
+						throw createException(window, windowStart, i,
+								DataFormatException.ExceptionType.EXPECTING_BEGINNING);
+
+					//Check for beginning of molecule
+					} else if (curChar == '{') {
+						openBracketCount++;
+
+						if (openBracketCount == 1) {
+							moleculeStart = i + 1;
+						}
+
+					//Check for end of molecule
+					} else if (curChar == '}') {
+						openBracketCount--;
+
+						//Deserialize the molecule in place
+						if (openBracketCount == 0) {
+							molecules.add(Molecule.deserialize(window, moleculeStart, i, lookUpTable));
+							expectingSeparator = true;
+							windowEnd          = i + 1;
+						}
+					}
+				}
+
+				//Check for bracket imbalance
+				if (isLastWindow) {
+					if (openBracketCount != 0) {
+						throw createException(window, windowStart, window.length(),
+								DataFormatException.ExceptionType.EXPECTING_ENDING);
+					}
+
+					break;
+
+				//Check for a molecule that does not fit in a window
+				} else if (windowEnd == 0) {
+					throw new IOException("Molecule at index " + windowStart + " is too large to map: " + file);
+				}
+
+				//Resume after the last complete molecule
+				windowStart       += windowEnd;
+				expectingSeparator = true;
+			}
+		}
+
+		return molecules;
+	}
+
+	//----------------------[Data loading ends here]---------------------//
+
+
+
+	//Helper function for loadMolecules: report an error with an excerpt of the surrounding data
+	private static DataFormatException createException (ByteSequence window, long windowStart, int index,
+			DataFormatException.ExceptionType errorReason) {
+
+		return DataFormatException.create(
+				ExceptionSettings.excerpt(window, 0, window.length(), index),
+				(int) Math.min(windowStart + index, Integer.MAX_VALUE),
+				errorReason
+		);
+	}
+}
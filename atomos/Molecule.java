@@ -9,6 +9,7 @@ public class Molecule extends Particle {
 	//-----------------[Constant declaration begins here]----------------//
 
 	public static final String NUM_ELEMENTS_PREFIX = "M:";
+	public static final int    BINARY_RECORD       = 'M';     //The type of a binary molecule record
 
 	//------------------[Constant declaration ends here]-----------------//
 
@@ -16,9 +17,14 @@ public class Molecule extends Particle {
 
 	//------------------[Field declarations begin here]------------------//
 
-	private Particle[] particles;       //The array of different types of particles in the molecule
-	private int[]      particleCounts;  //The number of each particle in the molecule
-	private int        numParticles;    //The number of different particle in the molecule
+	private Particle[]  particles;       //The array of different types of particles in the molecule
+	private int[]       particleCounts;  //The number of each particle in the molecule
+	private int         numParticles;    //The number of different particle in the molecule
+	private Composition composition;     //The number of atoms of each element, or null until first needed
+	private double      molarMass;       //The molar mass, kept once the particles are set
+	private int         totalCharge;     //The total charge of the particles, kept once the particles are set
+	private boolean     valid;           //Whether or not the molecule is valid, kept once the particles are set
+	private long        numAtoms;        //The total number of atoms, or Long.MAX_VALUE if it does not fit in a long
 
 	//-------------------[Field declarations end here]-------------------//
 
@@ -44,6 +50,17 @@ public class Molecule extends Particle {
 		particleCounts  = null;
 	}
 
+	//Create an uncharged molecule from arrays of the same length, which are held rather than copied
+	Molecule (Particle[] particles, int[] particleCounts) {
+		super();
+
+		this.numParticles   = particles.length;
+		this.particles      = particles;
+		this.particleCounts = particleCounts;
+
+		memoize();
+	}
+
 	//Copy constructor (deep copy)
 	public Molecule (Molecule source) {
 		this.numParticles   = source.numParticles;
@@ -68,6 +85,13 @@ public class Molecule extends Particle {
 
 			this.particleCounts[i] = source.particleCounts[i];
 		}
+
+		//Share the composition, which is immutable, and the values kept from the particles, which are the same
+		this.composition = source.composition;
+		this.molarMass   = source.molarMass;
+		this.totalCharge = source.totalCharge;
+		this.valid       = source.valid;
+		this.numAtoms    = source.numAtoms;
 	}
 
 	//----------------------[Constructors end here]----------------------//
@@ -78,27 +102,28 @@ public class Molecule extends Particle {
 
 	//Get molar mass
 	public double getMolarMass () {
-		double output = 0;
-
-		//Loop through each constituent particle
-		for (int i = 0; i < this.numParticles; i++) {
-			output += particles[i].getMolarMass() * particleCounts[i];
-		}
-
-		return output;
+		return molarMass;
 	}
 
 	//Get charge
 	@Override
 	public int getCharge () {
-		int charge = 0;
+		return totalCharge;
+	}
 
-		//Loop through each constituent particle
-		for (int i = 0; i < this.numParticles; i++) {
-			charge += this.particles[i].getCharge() * this.particleCounts[i];
+	//Get the number of atoms of each element, with nested molecules multiplied out; it is computed when first needed
+	//and kept, as the particles of a molecule do not change. Throws ArithmeticException if the molecule is invalid
+	//because it holds more atoms of an element than an int can hold.
+	public Composition getComposition () {
+		Composition composition = this.composition;
+
+		//Compute the composition; it is immutable, so threads reading the molecule at once can each safely compute it
+		if (composition == null) {
+			composition      = Composition.of(particles, particleCounts, numParticles);
+			this.composition = composition;
 		}
 
-		return charge;
+		return composition;
 	}
 
 	//-------------------[Molecule accessors end here]-------------------//
@@ -107,38 +132,73 @@ public class Molecule extends Particle {
 
 	//--------------[Molecule validity checking begins here]-------------//
 
+	//Check whether a molecule is valid; validity is checked once, when the molecule is constructed
 	public static boolean isValid (Molecule mToCheck) {
+		return mToCheck.valid;
+	}
+
+	//Helper function for construction: check validity and compute the molar mass and charge once the particles are
+	//set, as they do not change afterwards. Nested molecules must already have been checked.
+	private void memoize () {
 		//Check base particle validity
 		boolean isValid =
-				mToCheck.particles != null &&            //Check whether element list exists
-				mToCheck.particleCounts != null &&       //Check whether element count array exists
-				mToCheck.numParticles > 0 &&             //Check whether the number of elements has been set
-				mToCheck.numParticles ==                 //Check whether the size of the element array is the same
-						mToCheck.particles.length &&     //as the number of elements
-				mToCheck.numParticles ==                 //Check whether the size of the element count array is
-						mToCheck.particleCounts.length;  //the same as the number of elements
-
-		//Check whether base part
-		if (!isValid) {
-			return false;
+				this.particles != null &&            //Check whether element list exists
+				this.particleCounts != null &&       //Check whether element count array exists
+				this.numParticles > 0 &&             //Check whether the number of elements has been set
+				this.numParticles ==                 //Check whether the size of the element array is the same
+						this.particles.length &&     //as the number of elements
+				this.numParticles ==                 //Check whether the size of the element count array is
+						this.particleCounts.length;  //the same as the number of elements
+
+		double molarMass   = 0;
+		int    totalCharge = 0;
+		long   numAtoms    = 0;
+
+		//Loop through each constituent particle, if the arrays hold them
+		for (int i = 0; isValid && i < this.numParticles; i++) {
+			molarMass   += this.particles[i].getMolarMass() * this.particleCounts[i];
+			totalCharge += this.particles[i].getCharge()    * this.particleCounts[i];
+			numAtoms     = addAtoms(numAtoms, this.particles[i], this.particleCounts[i]);
+		}
 
 		//Check nested particle validity
-		} else {
-			for (int i = 0; i < mToCheck.numParticles && isValid; i++) {
-				//Check if constituent particle is a molecule
-				if (mToCheck.particles[i] instanceof Molecule) {
-					isValid &= isValid(
-							(Molecule)mToCheck.particles[i]);
-
-				//Check if constituent particle is an element
-				} else if (mToCheck.particles[i] instanceof Element) {
-					isValid &= Element.isValid(
-							(Element)mToCheck.particles[i]);
-				}
+		for (int i = 0; isValid && i < this.numParticles; i++) {
+			//Check if constituent particle is a molecule
+			if (this.particles[i] instanceof Molecule) {
+				isValid &= ((Molecule)this.particles[i]).valid;
+
+			//Check if constituent particle is an element
+			} else if (this.particles[i] instanceof Element) {
+				isValid &= Element.isValid((Element)this.particles[i]);
+			}
+		}
+
+		//Check that the number of atoms of each element fits in an int, which is certain unless the total does not
+		if (isValid && numAtoms > Integer.MAX_VALUE) {
+			try {
+				this.composition = Composition.of(this.particles, this.particleCounts, this.numParticles);
+			} catch (ArithmeticException e) {
+				isValid = false;
 			}
+		}
 
-			return isValid;
+		this.molarMass   = molarMass;
+		this.totalCharge = totalCharge;
+		this.valid       = isValid;
+		this.numAtoms    = numAtoms;
+	}
+
+	//Helper function for memoize: add the atoms of a number of particles to a total, stopping at Long.MAX_VALUE
+	private static long addAtoms (long numAtoms, Particle particle, int count) {
+		long particleAtoms = particle instanceof Molecule ? ((Molecule)particle).numAtoms :
+				particle instanceof Element ? 1 : 0;
+
+		//Check whether the total would not fit in a long
+		if (count > 0 && particleAtoms > (Long.MAX_VALUE - numAtoms) / count) {
+			return Long.MAX_VALUE;
 		}
+
+		return numAtoms + particleAtoms * count;
 	}
 
 	//--------------[Molecule validity checking ends here]---------------//
@@ -186,382 +246,644 @@ public class Molecule extends Particle {
 	public static Molecule fromMolecularFormula (String molecularFormula, PeriodicTable lookUpTable) throws
 			MoleculeDataException {
 
-		final char OPEN_BRACKET    = '(';
-		final char CLOSE_BRACKET   = ')';
-		int openBracketCount       = 0;
-		int numberOfMolecules      = 0;
-		char curChar               = 0;
-		boolean foundStartOfSymbol = false;
+		Molecularize.ParseResult<Molecule> result = tryFromMolecularFormula(molecularFormula, lookUpTable);
 
-		//Remove spaces from molecularFormula
-		molecularFormula = molecularFormula.replaceAll(" ", "");
+		//Check for an invalid formula
+		if (!result.isSuccess()) {
+			throw MoleculeDataException.create((MoleculeDataException.ExceptionType)result.getErrorReason());
+		}
 
-		//Check for an invalid length
-		if (molecularFormula.length() == 0) {
-			throw MoleculeDataException.create(
-					MoleculeDataException.ExceptionType.INVALID_MOLECULE_FORMAT
-			);
+		return result.getValue();
+	}
+
+	//Get molecule from molecular formula without throwing an exception for an invalid formula
+	public static Molecularize.ParseResult<Molecule> tryFromMolecularFormula (String molecularFormula,
+			PeriodicTable lookUpTable) {
+
+		return FormulaParser.forCurrentThread().parse(molecularFormula, lookUpTable);
+	}
+
+	//Serialize molecule data
+	public static String serialize (Molecule moleculeToSerialize) {
+		StringBuilder output = new StringBuilder();
+
+		try {
+			//Check whether the molecule is valid and serializable
+			if (!serialize(moleculeToSerialize, output)) {
+				return null;
+			}
+		} catch (java.io.IOException e) {
+			//StringBuilder does not throw IOException
+			throw new java.io.UncheckedIOException(e);
 		}
 
-		//Check for an invalid start character
-		curChar = molecularFormula.charAt(0);
+		return output.toString();
+	}
+
+	//Write molecule data to the output, returning whether the molecule is valid and serializable
+	public static boolean serialize (Molecule moleculeToSerialize, Appendable output) throws java.io.IOException {
 
-		if (curChar != '(' && (curChar < 'A' || curChar > 'Z')) {
-			throw MoleculeDataException.create(
-					MoleculeDataException.ExceptionType.INVALID_MOLECULE_FORMAT
-			);
+		//Check whether the molecule is valid and serializable before writing anything
+		if (!isValid(moleculeToSerialize) || !hasSerializableParticles(moleculeToSerialize)) {
+			return false;
 		}
 
-		//Count number of nested molecules
-		for (int i = 0; i < molecularFormula.length(); i++) {
-			curChar = molecularFormula.charAt(i);
+		writeText(moleculeToSerialize, output);
 
-			//Check for open bracket
-			if (curChar == OPEN_BRACKET) {
-				openBracketCount++;
+		return true;
+	}
 
-			//Check for close bracket
-			} else if (curChar == CLOSE_BRACKET) {
+	//Write a dataset of molecules to the output, each enclosed in its own datum, skipping any molecule that is not
+	//valid and serializable; returns the number of molecules written
+	public static int serializeAll (Iterable<Molecule> moleculesToSerialize, Appendable output) throws
+			java.io.IOException {
 
-				//Check for invalid bracket placement
-				if (openBracketCount < 1) {
-					throw MoleculeDataException.create(
-							MoleculeDataException.ExceptionType.INVALID_MOLECULE_FORMAT
-					);
-				}
+		int numWritten = 0;
 
-				openBracketCount--;
+		for (Molecule curMolecule : moleculesToSerialize) {
+			//Check whether the molecule is valid and serializable
+			if (!isValid(curMolecule) || !hasSerializableParticles(curMolecule)) {
+				continue;
+			}
 
-				//Increment number of molecules
-				if (openBracketCount == 0) {
-					numberOfMolecules++;
-				}
+			//Separate each molecule from the one before it
+			if (numWritten > 0) {
+				output.append(',');
+			}
 
-			//Only check for other characters if brackets are closed
-			} else if (openBracketCount == 0) {
+			output.append('{');
+			writeText(curMolecule, output);
+			output.append('}');
 
-				//Check for the beginning of a symbol
-				if (curChar >= 'A' && curChar <= 'Z') {
-					numberOfMolecules++;
-					foundStartOfSymbol = true;
+			numWritten++;
+		}
 
-				//Check for invalid symbol
-				} else if (curChar >= 'a' && curChar <= 'z') {
-					if (!foundStartOfSymbol) {
-						throw MoleculeDataException.create(
-								MoleculeDataException.ExceptionType.INVALID_MOLECULE_FORMAT
-						);
-					}
+		return numWritten;
+	}
 
-				//Check for numbers
-				} else if (curChar >= '0' && curChar < '9') {
-					foundStartOfSymbol = false;
+	//Helper function for serialize: check whether every particle, including nested ones, is an element or a molecule
+	private static boolean hasSerializableParticles (Molecule moleculeToCheck) {
+		for (int i = 0; i < moleculeToCheck.numParticles; i++) {
+			Particle particle = moleculeToCheck.particles[i];
 
-				//Check for invalid characters
-				} else {
-					throw MoleculeDataException.create(
-							MoleculeDataException.ExceptionType.INVALID_MOLECULE_FORMAT
-					);
+			//Check nested molecules
+			if (particle instanceof Molecule) {
+				if (!hasSerializableParticles((Molecule)particle)) {
+					return false;
 				}
+
+			//Reject if particle is neither an element nor a molecule
+			} else if (!(particle instanceof Element)) {
+				return false;
 			}
 		}
 
-		//Check for bracket imbalance
-		if (openBracketCount != 0) {
-			throw MoleculeDataException.create(
-					MoleculeDataException.ExceptionType.BRACKET_IMBALANCE
-			);
+		return true;
+	}
 
-		//Check for invalid number of molecules
-		} else if (numberOfMolecules < 1) {
-			throw MoleculeDataException.create(
-					MoleculeDataException.ExceptionType.INVALID_MOLECULE_FORMAT
-			);
+	//Helper function for serialize: write the data of a valid molecule
+	private static void writeText (Molecule moleculeToSerialize, Appendable output) throws java.io.IOException {
+
+		//Serialize number of unique molecules
+		output.append('{').append(NUM_ELEMENTS_PREFIX);
+		Molecularize.DataWriter.writeInt(output, moleculeToSerialize.numParticles);
+		output.append("},{");
+
+		//Serialize each molecule
+		for (int i = 0; i < moleculeToSerialize.numParticles; i++) {
+			output.append('{');
+
+			//Check if particle is an element
+			if (moleculeToSerialize.particles[i] instanceof Element) {
+				Molecularize.DataWriter.writeInt(output, ((Element)moleculeToSerialize.particles[i]).getAtomicNumber());
+
+			//Write nested molecules in place
+			} else {
+				writeText((Molecule)moleculeToSerialize.particles[i], output);
+			}
+
+			//Output charge and particle count
+			output.append("},{");
+			Molecularize.DataWriter.writeInt(output, moleculeToSerialize.particles[i].getCharge());
+			output.append("},{");
+			Molecularize.DataWriter.writeInt(output, moleculeToSerialize.particleCounts[i]);
+			output.append('}');
+
+			//Check if molecule is last in list
+			if (i < moleculeToSerialize.numParticles - 1) {
+				output.append("},{");
+			} else {
+				output.append('}');
+			}
 		}
+	}
 
-		//Create molecule for output
-		Molecule output       = new Molecule();
-		output.numParticles   = numberOfMolecules;
-		output.particles      = new Particle[output.numParticles];
-		output.particleCounts = new int     [output.numParticles];
-
-		foundStartOfSymbol = false;
-		openBracketCount       = 0;
-		int moleculeIndex      = 0;
-		int moleculeStartIndex = -1;
-		int moleculeCount      = 0;
-
-		//Get all molecules
-		for (int i = 0; i < molecularFormula.length(); i++) {
-			curChar = molecularFormula.charAt(i);
-
-			//Handle open brackets
-			if (curChar == OPEN_BRACKET) {
-
-				if (openBracketCount == 0) {
-					//Check for preceding molecule
-					if (!foundStartOfSymbol) {
-						output.particleCounts[Math.max(0, moleculeIndex - 1)] = Math.max(1, moleculeCount);
-
-						//Check for preceding element
-					} else {
-						output.particles[moleculeIndex] =
-								lookUpTable.getElementBySymbol(molecularFormula.substring(moleculeStartIndex, i));
-
-						//Check whether element could be found
-						if (output.particles[moleculeIndex] == null) {
-							throw MoleculeDataException.create(
-									MoleculeDataException.ExceptionType.ELEMENT_NOT_FOUND
-							);
-						}
-
-						output.particleCounts[moleculeIndex] = Math.max(1, moleculeCount);
-						moleculeIndex++;
-					}
+	//Deserialize molecule data
+	public static Molecule deserialize (CharSequence serializedData, PeriodicTable lookUpTable) throws
+			Molecularize.DataFormatException, MoleculeDataException {
 
-					foundStartOfSymbol = false;
-					moleculeStartIndex = i + 1;
-				}
+		return deserialize(serializedData, 0, serializedData.length(), lookUpTable);
+	}
+
+	//Deserialize the next molecule from a stream of molecules, each enclosed in its own datum
+	public static Molecule deserialize (Molecularize.DataReader reader, PeriodicTable lookUpTable) throws
+			java.io.IOException, Molecularize.DataFormatException, MoleculeDataException {
 
-				openBracketCount++;
-				moleculeCount = 0;
+		return deserialize(reader.next(), lookUpTable);
+	}
 
-			//Handle close brackets
-			} else if (curChar == CLOSE_BRACKET) {
-				openBracketCount--;
+	//Deserialize a dataset of molecules, each enclosed in its own datum, in parallel
+	public static java.util.List<Molecule> deserializeAll (CharSequence serializedData, final PeriodicTable lookUpTable) throws
+			Molecularize.DataFormatException, MoleculeDataException {
 
-				//Handle end of molecule
-				if (openBracketCount == 0) {
+		return new Molecularize.ParallelDataParser().parse(
+				serializedData,
+				new Molecularize.RecordParser<Molecule, MoleculeDataException>() {
+					@Override
+					public Molecule parse (CharSequence data, int start, int end) throws
+							Molecularize.DataFormatException, MoleculeDataException {
 
-					//Handle empty brackets
-					if (moleculeStartIndex >= i) {
-						throw MoleculeDataException.create(
-								MoleculeDataException.ExceptionType.INVALID_MOLECULE_FORMAT
-						);
+						return deserialize(data, start, end, lookUpTable);
 					}
-
-					output.particles[moleculeIndex] =
-							fromMolecularFormula(molecularFormula.substring(moleculeStartIndex, i), lookUpTable);
-					output.particleCounts[moleculeIndex] = 1;
-					moleculeIndex++;
-					moleculeStartIndex = -1;
 				}
+		);
+	}
 
-			//Handle other characters only if brackets are not open
-			} else if (openBracketCount == 0) {
+	//Deserialize molecule data without throwing an exception for invalid data
+	public static Molecularize.ParseResult<Molecule> tryDeserialize (CharSequence serializedData,
+			PeriodicTable lookUpTable) {
 
-				//Handle numbers
-				if (curChar >= '0' && curChar <= '9') {
+		return tryDeserialize(serializedData, 0, serializedData.length(), lookUpTable);
+	}
 
-					//Find preceding element
-					if (foundStartOfSymbol) {
-						output.particles[moleculeIndex] =
-								lookUpTable.getElementBySymbol(molecularFormula.substring(moleculeStartIndex, i));
+	//Deserialize molecule data from a region of a larger dataset in a single pass
+	static Molecule deserialize (CharSequence serializedData, int start, int end, PeriodicTable lookUpTable) throws
+			Molecularize.DataFormatException, MoleculeDataException {
 
-						//Check whether element could be found
-						if (output.particles[moleculeIndex] == null) {
-							throw MoleculeDataException.create(
-									MoleculeDataException.ExceptionType.ELEMENT_NOT_FOUND
-							);
-						}
+		return getValue(tryDeserialize(serializedData, start, end, lookUpTable));
+	}
 
-						output.particleCounts[moleculeIndex] = 1;
-						moleculeIndex++;
-						moleculeStartIndex = -1;
-						foundStartOfSymbol = false;
-					}
+	//Deserialize molecule data from a region of a larger dataset without throwing an exception for invalid data
+	static Molecularize.ParseResult<Molecule> tryDeserialize (CharSequence serializedData, int start, int end,
+			PeriodicTable lookUpTable) {
 
-					moleculeCount = (moleculeCount * 10) + (curChar - '0');
+		MoleculeBuilder                builder = new MoleculeBuilder(lookUpTable);
+		Molecularize.ParseResult<Void> walk    =
+				new Molecularize.DataParser().tryParse(serializedData, start, end, builder);
 
-				//Handle beginning of symbol
-				} else if (curChar >= 'A' && curChar <= 'Z') {
+		//Check for badly formatted data
+		if (!walk.isSuccess()) {
+			return walk.asFailure();
+		}
 
-					//Check for preceding molecule
-					if (!foundStartOfSymbol) {
-						output.particleCounts[Math.max(0, moleculeIndex - 1)] = Math.max(1, moleculeCount);
+		return builder.getMolecule();
+	}
 
-					//Check for preceding element
-					} else {
-						output.particles[moleculeIndex] =
-								lookUpTable.getElementBySymbol(molecularFormula.substring(moleculeStartIndex, i));
+	//Helper function for deserialization: get the molecule of a result, or throw the exception for its error
+	private static Molecule getValue (Molecularize.ParseResult<Molecule> result) throws
+			Molecularize.DataFormatException, MoleculeDataException {
 
-						//Check whether element could be found
-						if (output.particles[moleculeIndex] == null) {
-							throw MoleculeDataException.create(
-									MoleculeDataException.ExceptionType.ELEMENT_NOT_FOUND
-							);
-						}
+		//Check for badly formatted data
+		if (result.getErrorReason() instanceof Molecularize.DataFormatException.ExceptionType) {
+			throw Molecularize.DataFormatException.create(result);
 
-						output.particleCounts[moleculeIndex] = Math.max(1, moleculeCount);
-						moleculeIndex++;
-					}
+		//Check for invalid molecule data
+		} else if (!result.isSuccess()) {
+			throw MoleculeDataException.create((MoleculeDataException.ExceptionType)result.getErrorReason());
+		}
+
+		return result.getValue();
+	}
 
-					foundStartOfSymbol = true;
-					moleculeStartIndex = i;
-					moleculeCount = 0;
+	//Builds a molecule, and any molecules nested inside it, from the events of one pass over its data. Once an
+	//error is found the rest of the events are ignored, but the walk goes on to the end so that badly formatted
+	//data anywhere in the input are still reported first, as when the data were parsed before being read. Unlike
+	//then, badly formatted data inside a particle are reported before invalid values in the particles before it
+	private static class MoleculeBuilder extends Molecularize.DataHandler<RuntimeException> {
+
+		//A molecule or particle whose data are being read
+		private static class Frame {
+			private Frame        parent;        //The enclosing frame
+			private Molecule     molecule;      //The molecule being read, or null for a particle
+			private int          numData;       //The number of data read so far
+			private Particle     particle;      //The nested molecule of a particle
+			private CharSequence data;          //The data holding the particle values
+			private int[]        valueStarts;   //The start of each particle value
+			private int[]        valueEnds;     //The end of each particle value
+
+			private Frame (Frame parent, Molecule molecule) {
+				this.parent      = parent;
+				this.molecule    = molecule;
+				this.numData     = 0;
+				this.particle    = null;
+				this.data        = null;
+				this.valueStarts = new int[3];
+				this.valueEnds   = new int[3];
+			}
+		}
+
+		private PeriodicTable                      lookUpTable;     //The table used to find elements
+		private Frame                              root;            //The frame of the molecule being deserialized
+		private Frame                              frame;           //The innermost frame being read
+		private Molecularize.DataCursor            cursor;          //Reads particle values in place
+		private Molecularize.ParseResult<Molecule> failure;         //The first error found, or null
+
+		private MoleculeBuilder (PeriodicTable lookUpTable) {
+			this.lookUpTable = lookUpTable;
+			this.root        = new Frame(null, new Molecule());
+			this.frame       = root;
+			this.cursor      = new Molecularize.DataCursor();
+			this.failure     = null;
+		}
+
+		@Override
+		public void endDatum () {
+			//Ignore the rest of the data once an error has been found
+			if (failure != null) {
+				return;
+			}
+
+			frame.numData++;
+		}
+
+		@Override
+		public void startNested () {
+			//Ignore the rest of the data once an error has been found
+			if (failure != null) {
+				return;
+			}
+
+			//Handle a particle of a molecule
+			if (frame.molecule != null) {
+
+				//Check for nested data in place of the number of particles
+				if (frame.numData == 0) {
+					fail(MoleculeDataException.ExceptionType.NUM_ELEMENTS_NOT_FOUND);
+				} else if (checkExtraParticle()) {
+					frame = new Frame(frame, null);
 				}
+
+			//Handle a nested molecule in place of an element
+			} else if (frame.numData == 0) {
+				frame = new Frame(frame, new Molecule());
+
+			//Handle nested data in place of a charge or count
+			} else if (frame.numData < 3) {
+				fail(MoleculeDataException.ExceptionType.INVALID_ELEMENT_DATA);
+			} else {
+				fail(MoleculeDataException.ExceptionType.INVALID_ELEMENT_FORMAT);
 			}
 		}
 
-		if (moleculeCount > 1) {
-			output.particleCounts[Math.max(0, moleculeIndex - 1)] = moleculeCount;
-		} else if (foundStartOfSymbol) {
-			output.particles[moleculeIndex] =
-					lookUpTable.getElementBySymbol(molecularFormula.substring(moleculeStartIndex));
+		@Override
+		public void endNested () {
+			//Ignore the rest of the data once an error has been found
+			if (failure != null) {
+				return;
+			}
+
+			Frame child = frame;
+			frame = child.parent;
 
-			//Check whether element could be found
-			if (output.particles[moleculeIndex] == null) {
-				throw MoleculeDataException.create(
-						MoleculeDataException.ExceptionType.ELEMENT_NOT_FOUND
+			//Pass a finished nested molecule to its particle
+			if (child.molecule != null) {
+				if (checkParticleCount(child)) {
+					child.molecule.memoize();
+					frame.particle = child.molecule;
+				}
+
+			//Add a finished particle to its molecule
+			} else {
+				addParticle(child, frame.numData - 1);
+			}
+		}
+
+		@Override
+		public void value (CharSequence data, int start, int end) {
+			//Ignore the rest of the data once an error has been found
+			if (failure != null) {
+				return;
+
+			//Handle a datum of a particle; values are checked once the particle is complete
+			} else if (frame.molecule == null) {
+				if (frame.numData < 3) {
+					frame.data                       = data;
+					frame.valueStarts[frame.numData] = start;
+					frame.valueEnds  [frame.numData] = end;
+				}
+
+			//Handle the number of particles in a molecule
+			} else if (frame.numData == 0) {
+				readNumParticles(data, start, end);
+
+			//Reject a single value in place of particle data
+			} else if (checkExtraParticle()) {
+				failure = Molecularize.ParseResult.failure(
+						start == end ?
+								Molecularize.DataFormatException.ExceptionType.NO_DATA :
+								Molecularize.DataFormatException.ExceptionType.EXPECTING_BEGINNING,
+						data,
+						start,
+						end,
+						0
 				);
 			}
+		}
+
+		//Get the deserialized molecule, or the first error found; call only once the walk has succeeded
+		private Molecularize.ParseResult<Molecule> getMolecule () {
+			//Check for an error found during the walk
+			if (failure != null) {
+				return failure;
+			}
+
+			//Check for a properly formatted dataset
+			if (root.numData == 0) {
+				fail(MoleculeDataException.ExceptionType.NUM_ELEMENTS_NOT_FOUND);
+			} else if (checkParticleCount(root)) {
+				root.molecule.memoize();
+				return Molecularize.ParseResult.success(root.molecule);
+			}
 
-			output.particleCounts[moleculeIndex] = Math.max(1, moleculeCount);
+			return failure;
 		}
 
-		return output;
+		//Helper function for events: record the first error found
+		private void fail (MoleculeDataException.ExceptionType errorReason) {
+			failure = Molecularize.ParseResult.failure(errorReason);
+		}
+
+		//Helper function for events: create the particle arrays of the current molecule
+		private void readNumParticles (CharSequence data, int start, int end) {
+			int numParticles = -1;
+			int prefixEnd    = start + NUM_ELEMENTS_PREFIX.length();
+
+			//Check for a properly formatted dataset
+			if (end - start >= NUM_ELEMENTS_PREFIX.length() &&
+					NUM_ELEMENTS_PREFIX.contentEquals(data.subSequence(start, prefixEnd))) {
+
+				numParticles = cursor.readInt(data, prefixEnd, end);
+			}
+
+			if (numParticles < 0 || !cursor.wasValid()) {
+				fail(MoleculeDataException.ExceptionType.NUM_ELEMENTS_NOT_FOUND);
+				return;
+			}
+
+			frame.molecule.numParticles   = numParticles;
+			frame.molecule.particles      = new Particle[numParticles];
+			frame.molecule.particleCounts = new int     [numParticles];
+		}
+
+		//Helper function for events: check for more particles than the molecule declared
+		private boolean checkExtraParticle () {
+			if (frame.numData > frame.molecule.numParticles) {
+				fail(MoleculeDataException.ExceptionType.INVALID_ELEMENT_FORMAT);
+				return false;
+			}
+
+			return true;
+		}
+
+		//Helper function for events: check for fewer particles than the molecule declared
+		private boolean checkParticleCount (Frame moleculeFrame) {
+			if (moleculeFrame.numData - 1 != moleculeFrame.molecule.numParticles) {
+				fail(MoleculeDataException.ExceptionType.INVALID_ELEMENT_FORMAT);
+				return false;
+			}
+
+			return true;
+		}
+
+		//Helper function for events: add a complete particle to the current molecule
+		private void addParticle (Frame particleFrame, int index) {
+			//Check for a properly formatted dataset
+			if (particleFrame.numData != 3) {
+				fail(MoleculeDataException.ExceptionType.INVALID_ELEMENT_FORMAT);
+				return;
+			}
+
+			Particle particle = particleFrame.particle;
+
+			//Handle single elements
+			if (particle == null) {
+				int atomicNumber = readInt(particleFrame, 0);
+
+				//Check for a valid atomic number
+				if (!cursor.wasValid()) {
+					fail(MoleculeDataException.ExceptionType.INVALID_ELEMENT_DATA);
+					return;
+				}
+
+				particle = lookUpTable.getElement(atomicNumber);
+
+				//Check whether the element could be found
+				if (particle == null) {
+					fail(MoleculeDataException.ExceptionType.ELEMENT_NOT_FOUND);
+					return;
+				}
+			}
+
+			//Get particle charge, copying elements so that the table is not modified
+			int charge = readInt(particleFrame, 1);
+
+			if (!cursor.wasValid()) {
+				fail(MoleculeDataException.ExceptionType.INVALID_ELEMENT_DATA);
+				return;
+			}
+
+			if (particle instanceof Element && charge != 0) {
+				particle = new Element((Element)particle);
+				particle.setCharge(charge);
+			} else if (particle instanceof Molecule) {
+				particle.setCharge(charge);
+			}
+
+			//Get particle count
+			int count = readInt(particleFrame, 2);
+
+			//Check whether the element count is valid
+			if (!cursor.wasValid() || count < 1) {
+				fail(MoleculeDataException.ExceptionType.INVALID_ELEMENT_DATA);
+				return;
+			}
+
+			frame.molecule.particles     [index] = particle;
+			frame.molecule.particleCounts[index] = count;
+		}
+
+		//Helper function for addParticle: read an integer particle value in place
+		private int readInt (Frame particleFrame, int value) {
+			return cursor.readInt(
+					particleFrame.data,
+					particleFrame.valueStarts[value],
+					particleFrame.valueEnds  [value]
+			);
+		}
 	}
 
-	//Serialize molecule data
-	public static String serialize (Molecule moleculeToSerialize) {
+	//Write molecule data as a binary record, returning whether the molecule is valid and serializable
+	public static boolean serializeBinary (Molecule moleculeToSerialize, Molecularize.BinaryWriter out) throws
+			java.io.IOException {
 
 		//Check whether the molecule is valid and serializable
-		if (!isValid(moleculeToSerialize)) {
-			return null;
-		} else {
-			StringBuilder output = new StringBuilder();
+		if (!isValid(moleculeToSerialize) || binarySize(moleculeToSerialize) < 0) {
+			return false;
+		}
 
-			//Serialize number of unique molecules
-			output.append("{" + NUM_ELEMENTS_PREFIX + moleculeToSerialize.numParticles + "},{");
+		out.writeByte(BINARY_RECORD);
+		writeBinary(moleculeToSerialize, out);
 
-			//Serialize each molecule
-			for (int i = 0; i < moleculeToSerialize.numParticles; i++) {
-				output.append("{");
+		return true;
+	}
 
-				//Check if particle is an element
-				if (moleculeToSerialize.particles[i] instanceof Element) {
-					output.append(((Element)moleculeToSerialize.particles[i]).getAtomicNumber() + "},{");
+	//Read molecule data from a binary record
+	public static Molecule deserializeBinary (Molecularize.BinaryReader in, PeriodicTable lookUpTable) throws
+			java.io.IOException, Molecularize.BinaryFormatException, MoleculeDataException {
 
-				//Check if particle is a molecule
-				} else if (moleculeToSerialize.particles[i] instanceof Molecule) {
-					output.append(Molecule.serialize(((Molecule)moleculeToSerialize.particles[i])) + "},{");
+		in.readRecord(BINARY_RECORD);
 
-				//Reject if particle is neither an element nor a molecule
-				} else {
-					return null;
-				}
+		return readBinary(in, lookUpTable);
+	}
+
+	//Helper function for binary serialization: get the number of bytes written for a molecule, or -1 if a
+	//particle is neither an element nor a molecule
+	private static int binarySize (Molecule moleculeToSerialize) {
+		int size = Molecularize.BinaryWriter.varIntSize(moleculeToSerialize.numParticles);
+
+		//Add the size of each particle
+		for (int i = 0; i < moleculeToSerialize.numParticles; i++) {
+			Particle particle = moleculeToSerialize.particles[i];
 
-				//Output charge and particle count
-				output.append(moleculeToSerialize.particles[i].getCharge() + "},{");
-				output.append(moleculeToSerialize.particleCounts[i]        + "}");
+			//Check if particle is an element
+			if (particle instanceof Element) {
+				size += Molecularize.BinaryWriter.varIntSize(((Element)particle).getAtomicNumber());
+
+			//Check if particle is a molecule, which is written after a zero and its length
+			} else if (particle instanceof Molecule) {
+				int nestedSize = binarySize((Molecule)particle);
 
-				//Check if molecule is last in list
-				if (i < moleculeToSerialize.numParticles - 1) {
-					output.append("},{");
-				} else {
-					output.append("}");
+				if (nestedSize < 0) {
+					return -1;
 				}
+
+				size += 1 + Molecularize.BinaryWriter.varIntSize(nestedSize) + nestedSize;
+
+			//Reject if particle is neither an element nor a molecule
+			} else {
+				return -1;
 			}
 
-			return output.toString();
+			size += Molecularize.BinaryWriter.signedVarIntSize(particle.getCharge());
+			size += Molecularize.BinaryWriter.varIntSize(moleculeToSerialize.particleCounts[i]);
 		}
+
+		return size;
 	}
 
-	//Deserialize molecule data
-	public static Molecule deserialize (String serializedData, PeriodicTable lookUpTable) throws
-			Molecularize.DataFormatException, MoleculeDataException {
+	//Helper function for binary serialization: write the particles of a valid molecule
+	private static void writeBinary (Molecule moleculeToSerialize, Molecularize.BinaryWriter out) throws
+			java.io.IOException {
 
-		Molecularize.DataParser parser = new Molecularize.DataParser();
+		out.writeVarInt(moleculeToSerialize.numParticles);
 
-		//Get list of separated data
-		String[] dataArray = parser.parse(serializedData);
+		//Serialize each particle
+		for (int i = 0; i < moleculeToSerialize.numParticles; i++) {
+			Particle particle = moleculeToSerialize.particles[i];
 
-		//Check for a properly formatted dataset
-		if (!dataArray[0].startsWith(NUM_ELEMENTS_PREFIX)) {
-			throw MoleculeDataException.create(
-					MoleculeDataException.ExceptionType.NUM_ELEMENTS_NOT_FOUND
-			);
-		} else {
-			//Create molecule object for storing data
-			Molecule output = new Molecule();
+			//Check if particle is an element
+			if (particle instanceof Element) {
+				out.writeVarInt(((Element)particle).getAtomicNumber());
 
-			//Create arrays of the correct size
-			output.numParticles   = Integer.parseInt(dataArray[0].substring(NUM_ELEMENTS_PREFIX.length()));
-			output.particles      = new Particle[output.numParticles];
-			output.particleCounts = new int     [output.numParticles];
+			//Write a nested molecule after a zero and its length, so that it can be skipped
+			} else {
+				out.writeVarInt(0);
+				out.writeVarInt(binarySize((Molecule)particle));
+				writeBinary((Molecule)particle, out);
+			}
 
-			//Check for conflicting data array length
-			if (output.numParticles != dataArray.length - 1) {
-				throw MoleculeDataException.create(
-						MoleculeDataException.ExceptionType.INVALID_ELEMENT_FORMAT
-				);
+			//Output charge and particle count
+			out.writeSignedVarInt(particle.getCharge());
+			out.writeVarInt      (moleculeToSerialize.particleCounts[i]);
+		}
+	}
+
+	//Helper function for binary deserialization: read the particles of a molecule
+	private static Molecule readBinary (Molecularize.BinaryReader in, PeriodicTable lookUpTable) throws
+			java.io.IOException, Molecularize.BinaryFormatException, MoleculeDataException {
+
+		Molecule output       = new Molecule();
+		int      numParticles = in.readLength();
+
+		//Grow the arrays as particles are read, so that a corrupt count cannot exhaust memory
+		output.numParticles   = numParticles;
+		output.particles      = new Particle[Math.min(numParticles, 16)];
+		output.particleCounts = new int     [Math.min(numParticles, 16)];
+
+		for (int i = 0; i < numParticles; i++) {
+			if (i == output.particles.length) {
+				int newLength = (int)Math.min(numParticles, 2L * i);
+
+				output.particles      = java.util.Arrays.copyOf(output.particles,      newLength);
+				output.particleCounts = java.util.Arrays.copyOf(output.particleCounts, newLength);
 			}
 
-			//Fill molecules array
-			for (int i = 0; i < output.numParticles; i++) {
-				// Get list of molecule data
-				String[] moleculeDataArray = parser.parse(dataArray[i + 1]);
+			Particle particle;
+			int      atomicNumber = in.readVarInt();
 
-				//Check for a properly formatted dataset
-				if (moleculeDataArray.length != 3) {
-					throw MoleculeDataException.create(
-							MoleculeDataException.ExceptionType.INVALID_ELEMENT_FORMAT
+			//Handle nested molecules, checking that exactly their length is read
+			if (atomicNumber == 0) {
+				int  length = in.readLength();
+				long start  = in.getIndex();
+
+				particle = readBinary(in, lookUpTable);
+
+				if (in.getIndex() - start != length) {
+					throw Molecularize.BinaryFormatException.create(
+							start,
+							Molecularize.BinaryFormatException.ExceptionType.INVALID_LENGTH
 					);
-				} else {
-					//Check for a nested molecule
-					if (moleculeDataArray[0].charAt(0) == '{') {
-						output.particles[i] = Molecule.deserialize(moleculeDataArray[0], lookUpTable);
-					//Handle single elements
-					} else {
-						output.particles[i] = lookUpTable.getElement(Integer.parseInt(moleculeDataArray[0]));
-
-						//Check whether the element could be found
-						if (output.particles[i] == null) {
-							throw MoleculeDataException.create(
-									MoleculeDataException.ExceptionType.ELEMENT_NOT_FOUND
-							);
-						}
-					}
+				}
+
+			//Handle single elements
+			} else {
+				particle = lookUpTable.getElement(atomicNumber);
 
-					//Get particle charge
-					try {
-						int charge = Integer.parseInt(moleculeDataArray[1]);
+				//Check whether the element could be found
+				if (particle == null) {
+					throw MoleculeDataException.create(
+							MoleculeDataException.ExceptionType.ELEMENT_NOT_FOUND
+					);
+				}
+			}
 
-						//Copy particle if there is a charge and the particle is an element
-						if (output.particles[i] instanceof Element && charge != 0) {
-							output.particles[i] = new Element((Element)output.particles[i]);
-						}
+			//Get particle charge, copying elements so that the table is not modified
+			int charge = in.readSignedVarInt();
 
-						output.particles[i].setCharge(Integer.parseInt(moleculeDataArray[1]));
+			if (particle instanceof Element && charge != 0) {
+				particle = new Element((Element)particle);
+				particle.setCharge(charge);
+			} else if (particle instanceof Molecule) {
+				particle.setCharge(charge);
+			}
 
-					//Handle invalid integer
-					} catch (NumberFormatException e) {
-						throw MoleculeDataException.create(
-								MoleculeDataException.ExceptionType.INVALID_ELEMENT_DATA
-						);
-					}
+			//Get particle count
+			int count = in.readVarInt();
 
-					//Get particle count
-					try {
-						output.particleCounts[i] = Integer.parseInt(moleculeDataArray[2]);
-
-						//Check whether the element count is valid
-						if (output.particleCounts[i] < 1) {
-							throw MoleculeDataException.create(
-									MoleculeDataException.ExceptionType.INVALID_ELEMENT_DATA
-							);
-						}
-					//Handle invalid integer
-					} catch (NumberFormatException e) {
-						throw MoleculeDataException.create(
-								MoleculeDataException.ExceptionType.INVALID_ELEMENT_DATA
-						);
-					}
-				}
+			//Check whether the particle count is valid
+			if (count < 1) {
+				throw MoleculeDataException.create(
+						MoleculeDataException.ExceptionType.INVALID_ELEMENT_DATA
+				);
 			}
 
-			return output;
+			output.particles     [i] = particle;
+			output.particleCounts[i] = count;
 		}
+
+		output.memoize();
+
+		return output;
 	}
 
 	//-----------------[Object serialization ends here]------------------//
@@ -0,0 +1,292 @@
+package Molecularize.atomos;
+
+/*----------------------------------------------------------------------*\
+	This class caches the molecules parsed from molecular formulas, so
+	that formulas seen again and again, such as H2O or C6H12O6, are only
+	parsed once. Molecules have no mutators, so each cached molecule is
+	shared by every caller that asks for its formula.
+
+	Entries are keyed by the formula and by the identity of the table
+	it was parsed with. Tables should therefore not be changed while
+	cached: use snapshots, such as those of a SharedPeriodicTable, whose
+	entries age out once a new version is published. Invalid formulas
+	are cached too, as their failure cannot change for the same table.
+
+	The cache is split into segments by hash, each holding a
+	LinkedHashMap in access order. A segment is locked only to look up
+	or insert an entry, and evicts its least recently used entry once
+	full. Each entry is a FutureTask, so concurrent misses on the same
+	key wait for a single parse instead of parsing the formula
+	themselves.
+\*----------------------------------------------------------------------*/
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.LongAdder;
+
+import Molecularize.ParseResult;
+
+public class MoleculeCache {
+
+	//-----------------[Constant declaration begins here]----------------//
+
+	private static final int MAX_SEGMENTS = 16;     //The most segments the cache is split into
+
+	//------------------[Constant declaration ends here]-----------------//
+
+
+
+	//------------------[Field declarations begin here]------------------//
+
+	private final Segment[] segments;       //The segments of the cache, a power of two in number
+	private final int       maximumSize;    //The most entries held at once
+	private final LongAdder hitCount;       //The number of lookups answered without parsing
+	private final LongAdder missCount;      //The number of lookups that parsed their formula
+	private final LongAdder evictionCount;  //The number of entries evicted to make room
+
+	//-------------------[Field declarations end here]-------------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	//Create a cache holding at most maximumSize formulas
+	public MoleculeCache (int maximumSize) {
+		//Check for room for at least one formula
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException("Invalid maximum cache size: " + maximumSize);
+		}
+
+		//Split the cache into as many segments as it has room for, up to MAX_SEGMENTS
+		int numSegments = Integer.highestOneBit(Math.min(maximumSize, MAX_SEGMENTS));
+
+		this.segments      = new Segment[numSegments];
+		this.maximumSize   = maximumSize;
+		this.hitCount      = new LongAdder();
+		this.missCount     = new LongAdder();
+		this.evictionCount = new LongAdder();
+
+		//Share the capacity between the segments, giving the remainder to the first segments
+		for (int i = 0; i < numSegments; i++) {
+			segments[i] = new Segment(maximumSize / numSegments + (i < maximumSize % numSegments ? 1 : 0));
+		}
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//----------------------[Accessors begin here]-----------------------//
+
+	public int getMaximumSize () {
+		return maximumSize;
+	}
+
+	//Get the number of formulas held, including those still being parsed
+	public int getSize () {
+		int size = 0;
+
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+
+		return size;
+	}
+
+	//Get the number of lookups answered without parsing, including those that waited for another thread's parse
+	public long getHitCount () {
+		return hitCount.sum();
+	}
+
+	//Get the number of lookups that parsed their formula
+	public long getMissCount () {
+		return missCount.sum();
+	}
+
+	public long getEvictionCount () {
+		return evictionCount.sum();
+	}
+
+	//-----------------------[Accessors end here]------------------------//
+
+
+
+	//-----------------------[Lookups begin here]------------------------//
+
+	//Get the molecule of a formula, parsing it with a table if it is not cached
+	public Molecule get (String molecularFormula, PeriodicTable lookUpTable) throws MoleculeDataException {
+		ParseResult<Molecule> result = tryGet(molecularFormula, lookUpTable);
+
+		//Check for an invalid formula
+		if (!result.isSuccess()) {
+			throw MoleculeDataException.create((MoleculeDataException.ExceptionType)result.getErrorReason());
+		}
+
+		return result.getValue();
+	}
+
+	//Get the molecule of a formula, parsing it with the latest snapshot of a shared table if it is not cached
+	public Molecule get (String molecularFormula, SharedPeriodicTable lookUpTable) throws MoleculeDataException {
+		return get(molecularFormula, lookUpTable.get());
+	}
+
+	//Get the molecule of a formula without throwing an exception for an invalid formula
+	public ParseResult<Molecule> tryGet (final String molecularFormula, final PeriodicTable lookUpTable) {
+		Key     key     = new Key(molecularFormula, lookUpTable);
+		Segment segment = segments[spread(key.hashCode()) & (segments.length - 1)];
+
+		FutureTask<ParseResult<Molecule>> task;
+		boolean                           parse = false;
+
+		//Find the entry of the formula, or add one to be parsed by this thread
+		synchronized (segment) {
+			task = segment.get(key);
+
+			if (task == null) {
+				task = new FutureTask<ParseResult<Molecule>>(new Callable<ParseResult<Molecule>>() {
+					@Override
+					public ParseResult<Molecule> call () {
+						return Molecule.tryFromMolecularFormula(molecularFormula, lookUpTable);
+					}
+				});
+
+				segment.put(key, task);
+				parse = true;
+			}
+		}
+
+		if (parse) {
+			missCount.increment();
+			task.run();
+		} else {
+			hitCount.increment();
+		}
+
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			//Parse the formula instead of waiting for another thread, keeping the interrupt for the caller
+			Thread.currentThread().interrupt();
+
+			return Molecule.tryFromMolecularFormula(molecularFormula, lookUpTable);
+		} catch (ExecutionException e) {
+			//Remove the failed entry, so that the formula is parsed again next time
+			synchronized (segment) {
+				if (segment.get(key) == task) {
+					segment.remove(key);
+				}
+			}
+
+			throw rethrow(e.getCause());
+		}
+	}
+
+	//------------------------[Lookups end here]-------------------------//
+
+
+
+	//-----------------------[Mutators begin here]-----------------------//
+
+	//Remove every cached formula
+	public void clear () {
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+	}
+
+	//------------------------[Mutators end here]------------------------//
+
+
+
+	//Helper function for lookups: mix the high bits of a hash into the low bits used to choose a segment
+	private static int spread (int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	//Helper function for lookups: rethrow an unchecked exception thrown while parsing
+	private static RuntimeException rethrow (Throwable cause) {
+		if (cause instanceof Error) {
+			throw (Error)cause;
+		}
+
+		return (RuntimeException)cause;
+	}
+
+	//Helper class for lookups: a formula together with the identity of its table
+	private static final class Key {
+		private final String        molecularFormula;
+		private final PeriodicTable lookUpTable;
+		private final int           hash;
+
+		private Key (String molecularFormula, PeriodicTable lookUpTable) {
+			this.molecularFormula = molecularFormula;
+			this.lookUpTable      = lookUpTable;
+			this.hash             = 31 * molecularFormula.hashCode() + System.identityHashCode(lookUpTable);
+		}
+
+		@Override
+		public int hashCode () {
+			return hash;
+		}
+
+		@Override
+		public boolean equals (Object o) {
+			//Check for a type-match
+			if (!(o instanceof Key)) {
+				return false;
+			}
+
+			Key other = (Key)o;
+
+			return lookUpTable == other.lookUpTable && molecularFormula.equals(other.molecularFormula);
+		}
+	}
+
+	//Helper class for lookups: a segment of the cache, evicting its least recently used entry once full
+	private final class Segment {
+		private final LinkedHashMap<Key, FutureTask<ParseResult<Molecule>>> entries;    //The entries, in access order
+		private final int                                                   capacity;   //The most entries held
+
+		private Segment (int capacity) {
+			this.entries  = new LinkedHashMap<Key, FutureTask<ParseResult<Molecule>>>(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+
+		private FutureTask<ParseResult<Molecule>> get (Key key) {
+			return entries.get(key);
+		}
+
+		//Add an entry, evicting the least recently used entry if the segment is then over capacity
+		private void put (Key key, FutureTask<ParseResult<Molecule>> task) {
+			entries.put(key, task);
+
+			//Check whether the segment is over capacity
+			if (entries.size() > capacity) {
+				Iterator<Key> eldest = entries.keySet().iterator();
+
+				eldest.next();
+				eldest.remove();
+				evictionCount.increment();
+			}
+		}
+
+		private void remove (Key key) {
+			entries.remove(key);
+		}
+
+		private int size () {
+			return entries.size();
+		}
+
+		private void clear () {
+			entries.clear();
+		}
+	}
+}
@@ -4,6 +4,8 @@ package Molecularize.atomos;
 	This class handles invalid PeriodicTable deserialization.
 \*-------------------------------------------------------------*/
 
+import Molecularize.ExceptionSettings;
+
 public class MoleculeDataException extends Exception {
 
 	//-----------------[Constant declaration begins here]----------------//
@@ -41,7 +43,8 @@ public class MoleculeDataException extends Exception {
 
 	//-----------------[Variable declaration begins here]----------------//
 
-	private ExceptionType errorReason;
+	private ExceptionType errorReason;      //Reason for the error
+	private String        message;          //Error message, created when first requested
 
 	//------------------[Variable declaration ends here]-----------------//
 
@@ -49,40 +52,57 @@ public class MoleculeDataException extends Exception {
 
 	//---------------------[Constructors begin here]---------------------//
 
-	private MoleculeDataException(String message, ExceptionType errorReason) {
-		super(message);
+	private MoleculeDataException(ExceptionType errorReason, boolean lightweight) {
+		super(null, null, !lightweight, !lightweight);
 		this.errorReason = errorReason;
+		this.message     = null;
 	}
 
 	public static MoleculeDataException create (ExceptionType errorReason) {
-		StringBuilder message = new StringBuilder();
-
-		//Determine required message based on the cause of the exception
-		switch (errorReason) {
-			case ELEMENT_NOT_FOUND:
-				message.append(ELEMENT_NOT_FOUND_MESSAGE);
-				break;
-			case NUM_ELEMENTS_NOT_FOUND:
-				message.append(NUM_ELEMENTS_NOT_FOUND_MESSAGE);
-				break;
-			case INVALID_ELEMENT_FORMAT:
-				message.append(INVALID_ELEMENT_FORMAT_MESSAGE);
-				break;
-			case INVALID_ELEMENT_DATA:
-				message.append(INVALID_ELEMENT_DATA_MESSAGE);
-				break;
-			case INVALID_MOLECULE_FORMAT:
-				message.append(INVALID_MOLECULE_FORMAT_MESSAGE);
-				break;
-			case BRACKET_IMBALANCE:
-				message.append(BRACKET_IMBALANCE_MESSAGE);
-				break;
-			default:
-				message.append(NULL_ELEMENTS_MESSAGE);
+		return new MoleculeDataException(errorReason, ExceptionSettings.isLightweight());
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//----------------------[Accessors begin here]-----------------------//
+
+	public ExceptionType getErrorReason() {
+		return errorReason;
+	}
+
+	@Override
+	public String getMessage() {
+		//Create the message when it is first requested
+		if (message == null) {
+			//Determine required message based on the cause of the exception
+			switch (errorReason) {
+				case ELEMENT_NOT_FOUND:
+					message = ELEMENT_NOT_FOUND_MESSAGE;
+					break;
+				case NUM_ELEMENTS_NOT_FOUND:
+					message = NUM_ELEMENTS_NOT_FOUND_MESSAGE;
+					break;
+				case INVALID_ELEMENT_FORMAT:
+					message = INVALID_ELEMENT_FORMAT_MESSAGE;
+					break;
+				case INVALID_ELEMENT_DATA:
+					message = INVALID_ELEMENT_DATA_MESSAGE;
+					break;
+				case INVALID_MOLECULE_FORMAT:
+					message = INVALID_MOLECULE_FORMAT_MESSAGE;
+					break;
+				case BRACKET_IMBALANCE:
+					message = BRACKET_IMBALANCE_MESSAGE;
+					break;
+				default:
+					message = NULL_ELEMENTS_MESSAGE;
+			}
 		}
 
-		return new MoleculeDataException(message.toString(), errorReason);
+		return message;
 	}
 
-	//----------------------[Constructors end here]----------------------//
+	//-----------------------[Accessors end here]------------------------//
 }
@@ -0,0 +1,143 @@
+package Molecularize.atomos;
+
+/*----------------------------------------------------------------------*\
+	This class parses large batches of molecular formulas in parallel.
+	The batch is split into runs of formulas, which are parsed as
+	separate tasks on a fork/join pool, each with the FormulaParser of
+	the thread running it, so that no scratch space is allocated per
+	formula.
+
+	Results are returned in the same order as the formulas, one for
+	each formula. An invalid formula does not stop the batch: its result
+	is a failure holding the reason it is invalid and the formula. A
+	null formula is invalid too, and its failure holds no formula.
+\*----------------------------------------------------------------------*/
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import Molecularize.ParseResult;
+
+public class ParallelFormulaParser {
+
+	//-----------------[Constant declaration begins here]----------------//
+
+	public static final int DEFAULT_THRESHOLD = 1024;   //The default largest number of formulas parsed by one task
+
+	//------------------[Constant declaration ends here]-----------------//
+
+
+
+	//------------------[Field declarations begin here]------------------//
+
+	private ForkJoinPool pool;          //The pool that runs the parsing tasks
+	private int          threshold;     //The largest number of formulas parsed by one task
+
+	//-------------------[Field declarations end here]-------------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	public ParallelFormulaParser () {
+		this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+	}
+
+	public ParallelFormulaParser (ForkJoinPool pool, int threshold) {
+		//Check for a valid threshold
+		if (threshold < 1) {
+			throw new IllegalArgumentException("" + threshold);
+		}
+
+		this.pool      = pool;
+		this.threshold = threshold;
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//-------------------[Formula parsing begins here]-------------------//
+
+	//Parse each formula, returning a result for each in input order
+	@SuppressWarnings("unchecked")
+	public List<ParseResult<Molecule>> parse (List<String> molecularFormulas, PeriodicTable lookUpTable) {
+		//Copy formulas that cannot be read by index
+		if (!(molecularFormulas instanceof RandomAccess)) {
+			molecularFormulas = new ArrayList<String>(molecularFormulas);
+		}
+
+		ParseResult<?>[] results = new ParseResult<?>[molecularFormulas.size()];
+
+		pool.invoke(new ParseTask(molecularFormulas, lookUpTable, results, 0, results.length));
+
+		return (List<ParseResult<Molecule>>)(List<?>)Arrays.asList(results);
+	}
+
+	//Parse each formula of a stream, returning a result for each in encounter order
+	public List<ParseResult<Molecule>> parse (Stream<String> molecularFormulas, PeriodicTable lookUpTable) {
+		return parse(molecularFormulas.collect(Collectors.<String>toList()), lookUpTable);
+	}
+
+	//--------------------[Formula parsing ends here]--------------------//
+
+
+
+	//Task that parses a run of formulas, splitting it while it is larger than the threshold
+	private class ParseTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private List<String>     molecularFormulas;
+		private PeriodicTable    lookUpTable;
+		private ParseResult<?>[] results;
+		private int              first;
+		private int              last;
+
+		private ParseTask (List<String> molecularFormulas, PeriodicTable lookUpTable, ParseResult<?>[] results,
+				int first, int last) {
+
+			this.molecularFormulas = molecularFormulas;
+			this.lookUpTable       = lookUpTable;
+			this.results           = results;
+			this.first             = first;
+			this.last              = last;
+		}
+
+		@Override
+		protected void compute () {
+			//Split large runs in half
+			if (last - first > threshold) {
+				int middle = (first + last) >>> 1;
+
+				invokeAll(
+						new ParseTask(molecularFormulas, lookUpTable, results, first,  middle),
+						new ParseTask(molecularFormulas, lookUpTable, results, middle, last)
+				);
+				return;
+			}
+
+			FormulaParser parser = FormulaParser.forCurrentThread();
+
+			//Parse each formula, keeping the formula of each failure
+			for (int i = first; i < last; i++) {
+				String molecularFormula = molecularFormulas.get(i);
+
+				//Check for a missing formula
+				if (molecularFormula == null) {
+					results[i] = ParseResult.failure(MoleculeDataException.ExceptionType.INVALID_MOLECULE_FORMAT);
+					continue;
+				}
+
+				ParseResult<Molecule> result = parser.parse(molecularFormula, lookUpTable);
+
+				results[i] = result.isSuccess() ? result : ParseResult.failure(result.getErrorReason(), molecularFormula);
+			}
+		}
+	}
+}
@@ -1,17 +1,38 @@
 package Molecularize.atomos;
 
-/*-----------------------------------------*\
+/*----------------------------------------------------------------------*\
 	This class stores a list of elements.
-\*-----------------------------------------*/
 
+	A table can be frozen into an immutable snapshot, which any number
+	of threads may read without locking. Snapshots are changed by
+	copying them into a new table, which is mutable, and freezing the
+	copy once it has been changed; SharedPeriodicTable publishes each
+	new snapshot atomically.
+\*----------------------------------------------------------------------*/
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.BitSet;
+
+import Molecularize.BinaryFormatException;
+import Molecularize.BinaryReader;
+import Molecularize.BinaryWriter;
+import Molecularize.DataCursor;
 import Molecularize.DataFormatException;
 import Molecularize.DataParser;
+import Molecularize.DataReader;
+import Molecularize.DataSpans;
+import Molecularize.DataWriter;
+import Molecularize.ParseResult;
 
 public class PeriodicTable {
 
 	//-----------------[Constant declaration begins here]----------------//
 
-	public static final String NUM_ELEMENTS_PREFIX = "P:";
+	public static final String NUM_ELEMENTS_PREFIX        = "P:";
+	public static final String LEGACY_NUM_ELEMENTS_PREFIX = "L:";   //Prefix used by older table files
+	public static final int    BINARY_RECORD              = 'P';    //The type of a binary table record
+	public static final int    MAX_TABLE_SIZE             = 65536;  //The largest table size read from serialized data
 
 	//------------------[Constant declaration ends here]-----------------//
 
@@ -19,8 +40,14 @@ public class PeriodicTable {
 
 	//------------------[Field declarations begin here]------------------//
 
-	private int tableSize;          //The size of the elements array
-	private Element[] elements;     //The array of elements
+	private int            tableSize;   //The size of the elements array
+	private Element[]      elements;    //The array of elements
+	private ElementIndex   symbolIndex; //The position of each element by symbol
+	private ElementIndex   nameIndex;   //The position of each element by name
+	private boolean        inOrder;     //Whether or not each element is at the position given by its atomic number
+	private boolean        frozen;      //Whether or not the table is an immutable snapshot
+	private ElementColumns columns;     //The columnar view of the elements, or null until it is needed
+	private ElementRanges  ranges;      //The group, period and mass indexes of the elements, or null until needed
 
 	//-------------------[Field declarations end here]-------------------//
 
@@ -31,8 +58,24 @@ public class PeriodicTable {
 	private PeriodicTable () {
 
 		//Initialize variables to invalid states
-		tableSize = -1;
-		elements  = null;
+		tableSize   = -1;
+		elements    = null;
+		symbolIndex = null;
+		nameIndex   = null;
+		inOrder     = false;
+		frozen      = false;
+		columns     = null;
+		ranges      = null;
+	}
+
+	//Copy constructor, creating a mutable table even from a snapshot
+	public PeriodicTable (PeriodicTable source) {
+		this();
+
+		//Copy the elements array so that the tables can be changed independently
+		if (source.elements != null) {
+			index(source.elements.clone());
+		}
 	}
 
 	//----------------------[Constructors end here]----------------------//
@@ -45,8 +88,42 @@ public class PeriodicTable {
 		return tableSize;
 	}
 
+	//Get the table's own array of elements, or a copy of it for a snapshot; change a table through push and pop
+	//so that lookups stay indexed
 	public Element[] getElements () {
-		return elements;
+		return frozen && elements != null ? elements.clone() : elements;
+	}
+
+	//Get a columnar view of the elements, which is created when first needed and replaced after any change
+	public ElementColumns getColumns () {
+		ElementColumns columns = this.columns;
+
+		//Create the view if the table has changed since it was last created; the view is immutable, so threads
+		//reading a snapshot at once can each safely create it
+		if (columns == null && elements != null) {
+			columns      = new ElementColumns(elements);
+			this.columns = columns;
+		}
+
+		return columns;
+	}
+
+	//Check whether the table is an immutable snapshot
+	public boolean isFrozen () {
+		return frozen;
+	}
+
+	//Get an immutable snapshot of the table, which is the table itself if it is already a snapshot
+	public PeriodicTable snapshot () {
+		//Check whether the table is already a snapshot
+		if (frozen) {
+			return this;
+		}
+
+		PeriodicTable snapshot = new PeriodicTable(this);
+		snapshot.frozen = true;
+
+		return snapshot;
 	}
 
 	//Returns the number of non-null elements in the table
@@ -73,26 +150,80 @@ public class PeriodicTable {
 		return null;
 	}
 
-	//Get an element based on name
+	//Get an element based on name, ignoring case
 	public Element getElementByName (String name) {
-		for (int i = 0; i < tableSize; i++) {
-			if (elements[i] != null && elements[i].getName().equalsIgnoreCase(name)) {
-				return elements[i];
-			}
-		}
+		return name == null ? null : getElementByName(name, 0, name.length());
+	}
 
-		return null;
+	//Get an element based on the name held in a region of data, ignoring case
+	public Element getElementByName (CharSequence data, int start, int end) {
+		return find(nameIndex, data, start, end);
 	}
 
 	//Get an element based on symbol
 	public Element getElementBySymbol (String symbol) {
-		for (int i = 0; i < tableSize; i++) {
-			if (elements[i] != null && elements[i].getSymbol().equals(symbol)) {
-				return elements[i];
-			}
+		return symbol == null ? null : getElementBySymbol(symbol, 0, symbol.length());
+	}
+
+	//Get an element based on the symbol held in a region of data
+	public Element getElementBySymbol (CharSequence data, int start, int end) {
+		return find(symbolIndex, data, start, end);
+	}
+
+	//Get the elements in a group, in order of atomic number
+	public Element[] getElementsInGroup (int group) {
+		return getRanges().getElementsInGroup(group);
+	}
+
+	//Get the elements in a period, in order of atomic number
+	public Element[] getElementsInPeriod (int period) {
+		return getRanges().getElementsInPeriod(period);
+	}
+
+	//Get the atomic numbers of the elements in a group
+	public BitSet getGroupMembers (int group) {
+		return getRanges().getGroupMembers(group);
+	}
+
+	//Get the atomic numbers of the elements in a period
+	public BitSet getPeriodMembers (int period) {
+		return getRanges().getPeriodMembers(period);
+	}
+
+	//Get the elements with a molar mass from minMass to maxMass inclusive, in order of molar mass
+	public Element[] getElementsInMassRange (double minMass, double maxMass) {
+		return getRanges().getElementsInMassRange(minMass, maxMass);
+	}
+
+	//Get the element with the molar mass closest to a mass, preferring the lighter of two equally close masses and
+	//the lowest atomic number among elements of equal mass, or null if there is none
+	public Element getNearestElementByMass (double mass) {
+		return getRanges().getNearestElementByMass(mass);
+	}
+
+	//Helper function for range queries: get the range indexes, creating them if the table has changed since they
+	//were last created; they are immutable, so threads reading a snapshot at once can each safely create them
+	private ElementRanges getRanges () {
+		ElementRanges ranges = this.ranges;
+
+		if (ranges == null) {
+			ranges      = new ElementRanges(elements == null ? new Element[0] : elements);
+			this.ranges = ranges;
 		}
 
-		return null;
+		return ranges;
+	}
+
+	//Helper function for getElementByName and getElementBySymbol: look up an element in an index
+	private Element find (ElementIndex index, CharSequence data, int start, int end) {
+		//Check whether the table has elements to find
+		if (index == null) {
+			return null;
+		}
+
+		int position = index.find(data, start, end);
+
+		return position < 0 ? null : elements[position];
 	}
 
 	//-----------------------[Accessors end here]------------------------//
@@ -103,6 +234,7 @@ public class PeriodicTable {
 
 	//Change the periodic table's list of elements
 	public void setElements (Element[] elements) throws PeriodicTableDataException {
+		checkMutable();
 
 		//Check for a valid input elements list
 		if (elements == null) {
@@ -110,48 +242,123 @@ public class PeriodicTable {
 					PeriodicTableDataException.ExceptionType.NULL_ELEMENTS
 			);
 		} else {
-			this.tableSize = elements.length;
-			this.elements  = elements;
+			index(elements);
 		}
 	}
 
 	//Add an element to the table
 	public void push (Element toAdd) {
+		checkMutable();
 
 		//Check whether the element is null
 		if (toAdd != null) {
 			int atomicNumber = toAdd.getAtomicNumber();
 
+			//Check whether the element fits in the table, before any index is changed
+			if (!fits(toAdd)) {
+				throw new IllegalArgumentException("Atomic number outside the table: " + atomicNumber);
+			}
+
 			//Check whether an element with the same information already exists
 			if (!conflicts(toAdd)) {
-				elements[atomicNumber - 1] = toAdd;
+				setElement(atomicNumber - 1, toAdd);
 			}
 		}
 	}
 
+	//Add several elements to the table in order, as push would add each of them
+	public void pushAll (Element... toAdd) {
+		checkMutable();
+
+		for (Element curElement : toAdd) {
+			push(curElement);
+		}
+	}
+
 	//Remove an element from the table
 	public void pop (int atomicNumber) {
+		checkMutable();
 
 		//Check for a valid atomic number input
 		if (atomicNumber > 0 && atomicNumber <= tableSize) {
-			elements[atomicNumber - 1] = null;
+			setElement(atomicNumber - 1, null);
 		}
 	}
 
+	//Helper function for push and deserialization: check whether an element's atomic number is within the table
+	private boolean fits (Element toAdd) {
+		return toAdd.getAtomicNumber() > 0 && toAdd.getAtomicNumber() <= tableSize;
+	}
+
+	//Helper function for setElements and the copy constructor: use and index an elements array
+	private void index (Element[] elements) {
+		this.tableSize   = elements.length;
+		this.elements    = elements;
+		this.symbolIndex = new ElementIndex(elements, false);
+		this.nameIndex   = new ElementIndex(elements, true);
+		this.inOrder     = true;
+		this.columns     = null;
+		this.ranges      = null;
+
+		//Check whether each element is where push would put it
+		for (int i = 0; i < tableSize; i++) {
+			if (elements[i] != null && elements[i].getAtomicNumber() != i + 1) {
+				this.inOrder = false;
+				break;
+			}
+		}
+	}
+
+	//Helper function for mutators: check that the table is not a snapshot
+	private void checkMutable () {
+		if (frozen) {
+			throw new UnsupportedOperationException("Periodic table snapshots cannot be changed");
+		}
+	}
+
+	//Helper function for push and pop: replace the element at a position, keeping the indexes in sync
+	private void setElement (int position, Element element) {
+		symbolIndex.remove(position);
+		nameIndex  .remove(position);
+
+		elements[position] = element;
+		columns            = null;
+		ranges             = null;
+
+		symbolIndex.add(position);
+		nameIndex  .add(position);
+	}
+
 	//------------------------[Mutators end here]------------------------//
 
 
 
 	//-----------------[Comparison functions begin here]----------------//
 
-	//Check if an element conflicts with an element already in the table
+	//Check if an element conflicts with an element already in the table, as Element.conflicts would for each
 	public boolean conflicts (Element checkElement) {
+		String name   = checkElement.getName();
+		String symbol = checkElement.getSymbol();
 
-		//Iterate through each element in the table
-		for (int i = 0; i < tableSize; i++) {
+		//Check whether the table has elements to conflict with
+		if (elements == null) {
+			return false;
+		}
+
+		return	hasAtomicNumber(checkElement.getAtomicNumber())                 ||     //Check for the same atomic number
+				nameIndex.find(name, 0, name.length()) >= 0                     ||     //Check for the same name
+				symbolIndex.containsIgnoringCase(symbol, 0, symbol.length());          //Check for the same symbol
+	}
 
-			//Check for a conflict between the elements
-			if (checkElement.conflicts(elements[i])) {
+	//Helper function for conflicts: check whether an element with an atomic number is in the table
+	private boolean hasAtomicNumber (int atomicNumber) {
+		//Look only where push would put the element, if every element is where push would put it
+		if (inOrder) {
+			return getElement(atomicNumber) != null;
+		}
+
+		for (int i = 0; i < tableSize; i++) {
+			if (elements[i] != null && elements[i].getAtomicNumber() == atomicNumber) {
 				return true;
 			}
 		}
@@ -179,85 +386,277 @@ public class PeriodicTable {
 
 	//Serialize periodic table data
 	public static String serialize (PeriodicTable tableToSerialize) {
+		StringBuilder output = new StringBuilder();
+
+		try {
+			//Check whether the periodic table is valid and serializable
+			if (!serialize(tableToSerialize, output)) {
+				return null;
+			}
+		} catch (IOException e) {
+			//StringBuilder does not throw IOException
+			throw new UncheckedIOException(e);
+		}
+
+		return output.toString();
+	}
+
+	//Write periodic table data to the output, returning whether the table is valid and serializable
+	public static boolean serialize (PeriodicTable tableToSerialize, Appendable output) throws IOException {
 
 		//Check whether the periodic table is valid and serializable
 		if (!isValid(tableToSerialize)) {
-			return null;
-		} else {
-			StringBuilder output = new StringBuilder();
+			return false;
+		}
 
-			//Serialize table metadata
-			output.append("{" + NUM_ELEMENTS_PREFIX + tableToSerialize.tableSize + "},");
+		//Serialize table metadata
+		output.append('{').append(NUM_ELEMENTS_PREFIX);
+		DataWriter.writeInt(output, tableToSerialize.tableSize);
+		output.append('}');
 
-			//Serialize each element
-			for (int i = 0; i < tableToSerialize.tableSize; i++) {
-				String serializedElement =
-						Element.serialize(tableToSerialize.getElement(i + 1));
+		//Serialize each element
+		for (int i = 0; i < tableToSerialize.tableSize; i++) {
+			Element curElement = tableToSerialize.elements[i];
 
-				//Check if element is serializable
-				if (serializedElement != null) {
-					output.append("{" + serializedElement + "},");
-				}
+			//Check if element is serializable
+			if (Element.isValid(curElement)) {
+				output.append(",{");
+				Element.serialize(curElement, output);
+				output.append('}');
 			}
-
-			output.deleteCharAt(output.length() - 1);
-
-			return output.toString();
 		}
+
+		return true;
 	}
 
 	//Deserialize periodic table data
-	public static PeriodicTable deserialize (String serializedData) throws
+	public static PeriodicTable deserialize (CharSequence serializedData) throws
 			DataFormatException, PeriodicTableDataException {
 
 		DataParser parser = new DataParser();
 
-		//Get list of separated data
-		String[] dataArray = parser.parse(serializedData);
+		//Locate each datum without copying it
+		DataSpans spans = parser.parseSpans(serializedData);
+
+		//Create a new table
+		PeriodicTable table = createTable(
+				serializedData,
+				spans.size() == 0 ? 0 : spans.getStart(0),
+				spans.size() == 0 ? 0 : spans.getEnd  (0)
+		);
+
+		//Add each element to the table, or null for an invalid element
+		for (int i = 1; i < spans.size(); i++) {
+			table.push(readElement(table, Element.tryDeserialize(serializedData, spans.getStart(i), spans.getEnd(i))));
+		}
+
+		return table;
+	}
+
+	//Deserialize periodic table data from a stream, one element at a time
+	public static PeriodicTable deserialize (DataReader reader) throws
+			IOException, DataFormatException, PeriodicTableDataException {
+
+		//Create a new table
+		String        header = reader.hasNext() ? reader.next() : "";
+		PeriodicTable table  = createTable(header, 0, header.length());
 
-		//Trim preceding and succeeding whitespace from each datum
-		for (int i = 0; i < dataArray.length; i++) {
-			dataArray[i] = dataArray[i].trim();
+		//Add each element to the table, or null for an invalid element
+		while (reader.hasNext()) {
+			table.push(readElement(table, Element.tryDeserialize(reader.next())));
 		}
 
+		return table;
+	}
+
+	//Deserialize periodic table data from a stream, rejecting the table if any element is invalid or if it does
+	//not hold exactly as many elements as its size, such as a table cut short
+	static PeriodicTable deserializeStrict (DataReader reader) throws
+			IOException, DataFormatException, ElementDataException, PeriodicTableDataException {
+
 		//Create a new table
+		String        header = reader.hasNext() ? reader.next() : "";
+		PeriodicTable table  = createTable(header, 0, header.length());
+
+		//Add each element to the table, failing at the first invalid element
+		while (reader.hasNext()) {
+			Element curElement = Element.deserialize(reader.next());
+
+			//Check whether the element fits in the table
+			if (!table.fits(curElement)) {
+				throw PeriodicTableDataException.create(
+						PeriodicTableDataException.ExceptionType.ELEMENT_OUT_OF_RANGE
+				);
+			}
+
+			table.push(curElement);
+		}
+
+		//Check for missing elements, or elements dropped as conflicting with others
+		if (table.getNumElements() != table.tableSize) {
+			throw PeriodicTableDataException.create(
+					PeriodicTableDataException.ExceptionType.NUM_ELEMENTS_MISMATCH
+			);
+		}
+
+		return table;
+	}
+
+	//Write periodic table data as a binary record, returning whether the table is valid and serializable
+	public static boolean serializeBinary (PeriodicTable tableToSerialize, BinaryWriter out) throws IOException {
+
+		//Check whether the periodic table is valid and serializable
+		if (!isValid(tableToSerialize)) {
+			return false;
+		}
+
+		int numElements = 0;
+
+		//Count the serializable elements
+		for (int i = 0; i < tableToSerialize.tableSize; i++) {
+			if (Element.isValid(tableToSerialize.elements[i])) {
+				numElements++;
+			}
+		}
+
+		//Serialize table metadata
+		out.writeByte  (BINARY_RECORD);
+		out.writeVarInt(tableToSerialize.tableSize);
+		out.writeVarInt(numElements);
+
+		//Serialize each element
+		for (int i = 0; i < tableToSerialize.tableSize; i++) {
+			if (Element.isValid(tableToSerialize.elements[i])) {
+				Element.writeBinary(tableToSerialize.elements[i], out);
+			}
+		}
+
+		return true;
+	}
+
+	//Read periodic table data from a binary record
+	public static PeriodicTable deserializeBinary (BinaryReader in) throws
+			IOException, BinaryFormatException, ElementDataException, PeriodicTableDataException {
+
+		in.readRecord(BINARY_RECORD);
+
+		//Create a new table, checking the size before allocating it so that a corrupt size cannot exhaust memory
 		PeriodicTable table = new PeriodicTable();
+		table.setElements(new Element[checkTableSize(in.readLength())]);
+
+		int numElements = in.readLength();
+
+		//Add each element to the table
+		for (int i = 0; i < numElements; i++) {
+			Element curElement = Element.readBinary(in);
+
+			//Check whether the element fits in the table
+			if (curElement.getAtomicNumber() > table.tableSize) {
+				throw ElementDataException.create(
+						"" + curElement.getAtomicNumber(),
+						ElementDataException.ExceptionType.INVALID_ATOMIC_NUMBER
+				);
+			}
+
+			table.push(curElement);
+		}
+
+		return table;
+	}
+
+	//Create a table from columns of valid element data, such as those in StandardTableData, without parsing
+	static PeriodicTable fromColumns (int tableSize, int[] atomicNumbers, int[] groups, int[] periods,
+			double[] molarMasses, String[] names, String[] symbols) {
+
+		PeriodicTable table = new PeriodicTable();
+		table.index(new Element[tableSize]);
+
+		//Add each element to the table
+		for (int i = 0; i < atomicNumbers.length; i++) {
+			table.push(new Element(0, atomicNumbers[i], groups[i], periods[i], molarMasses[i], names[i], symbols[i]));
+		}
+
+		return table;
+	}
+
+	//Create a table that uses an elements array as it is, such as one of elements shared with other tables
+	static PeriodicTable fromElements (Element[] elements) {
+		PeriodicTable table = new PeriodicTable();
+		table.index(elements);
+
+		return table;
+	}
+
+	//Helper function for deserialize: create an empty table from the table metadata
+	private static PeriodicTable createTable (CharSequence serializedData, int start, int end) throws
+			PeriodicTableDataException {
+
+		PeriodicTable table = new PeriodicTable();
+
+		String prefix;
 
 		//Check for a properly formatted dataset
-		if (!dataArray[0].startsWith(NUM_ELEMENTS_PREFIX)) {
+		if (startsWith(serializedData, start, end, NUM_ELEMENTS_PREFIX)) {
+			prefix = NUM_ELEMENTS_PREFIX;
+		} else if (startsWith(serializedData, start, end, LEGACY_NUM_ELEMENTS_PREFIX)) {
+			prefix = LEGACY_NUM_ELEMENTS_PREFIX;
+		} else {
 			throw PeriodicTableDataException.create(
 					PeriodicTableDataException.ExceptionType.NUM_ELEMENTS_NOT_FOUND
 			);
-		} else {
-			dataArray[0] = dataArray[0].substring(NUM_ELEMENTS_PREFIX.length());
 		}
 
-		try {
-			table.setElements(new Element[Integer.parseInt(dataArray[0])]);
-		} catch (NumberFormatException e) {
+		DataCursor cursor    = new DataCursor();
+		int        tableSize = cursor.readInt(serializedData, start + prefix.length(), end);
+
+		//Check for a valid table size
+		if (!cursor.wasValid()) {
 			throw PeriodicTableDataException.create(
 					PeriodicTableDataException.ExceptionType.NULL_ELEMENTS
 			);
 		}
 
-		//Add each element to the table
-		for (int i = 1; i < dataArray.length; i++) {
-			Element curElement = null;
-
-			//Check for a valid deserializable element
-			try {
-				curElement = Element.deserialize(dataArray[i]);
-			} catch (ElementDataException e) {
-				curElement = null;
-			} finally {
-
-				//Add element to the array
-				table.push(curElement);
-			}
-		}
+		table.setElements(new Element[checkTableSize(tableSize)]);
 
 		return table;
 	}
 
+	//Helper function for deserialization: check a table size read from serialized data before it is allocated
+	private static int checkTableSize (int tableSize) throws PeriodicTableDataException {
+		if (tableSize < 0 || tableSize > MAX_TABLE_SIZE) {
+			throw PeriodicTableDataException.create(
+					PeriodicTableDataException.ExceptionType.INVALID_TABLE_SIZE
+			);
+		}
+
+		return tableSize;
+	}
+
+	//Helper function for deserialize: get a deserialized element that fits in the table, or null if its data are
+	//invalid
+	private static Element readElement (PeriodicTable table, ParseResult<Element> result) throws
+			DataFormatException, PeriodicTableDataException {
+
+		//Check for badly formatted data
+		if (result.getErrorReason() instanceof DataFormatException.ExceptionType) {
+			throw DataFormatException.create(result);
+		}
+
+		//Check whether the element fits in the table
+		if (result.isSuccess() && !table.fits(result.getValue())) {
+			throw PeriodicTableDataException.create(
+					PeriodicTableDataException.ExceptionType.ELEMENT_OUT_OF_RANGE
+			);
+		}
+
+		return result.getValue();
+	}
+
+	//Helper function for createTable: check whether a region of the data begins with a prefix
+	private static boolean startsWith (CharSequence serializedData, int start, int end, String prefix) {
+		return	end - start >= prefix.length() &&
+				prefix.contentEquals(serializedData.subSequence(start, start + prefix.length()));
+	}
+
 	//-----------------[Object serialization ends here]-----------------//
 }
\ No newline at end of file
@@ -11,7 +11,10 @@ public class PeriodicTableDataException extends Exception {
 	//Possible reasons for an error
 	public enum ExceptionType {
 		NUM_ELEMENTS_NOT_FOUND,     //Size of table not found
-		NULL_ELEMENTS               //No data found
+		NULL_ELEMENTS,              //No data found
+		INVALID_TABLE_SIZE,         //Negative or too large size of table
+		ELEMENT_OUT_OF_RANGE,       //Atomic number outside the table
+		NUM_ELEMENTS_MISMATCH       //Number of elements read differs from size of table
 	}
 
 	//Error messages
@@ -19,6 +22,12 @@ public class PeriodicTableDataException extends Exception {
 			"No elements array received";
 	public static final String NUM_ELEMENTS_NOT_FOUND_MESSAGE =
 			"Number of elements not found";
+	public static final String INVALID_TABLE_SIZE_MESSAGE =
+			"Number of elements is negative or too large";
+	public static final String ELEMENT_OUT_OF_RANGE_MESSAGE =
+			"Atomic number is outside the table";
+	public static final String NUM_ELEMENTS_MISMATCH_MESSAGE =
+			"Number of elements read does not match the size of the table";
 
 	//------------------[Constant declaration ends here]-----------------//
 
@@ -47,6 +56,15 @@ public class PeriodicTableDataException extends Exception {
 			case NULL_ELEMENTS:
 				message.append(NULL_ELEMENTS_MESSAGE);
 				break;
+			case INVALID_TABLE_SIZE:
+				message.append(INVALID_TABLE_SIZE_MESSAGE);
+				break;
+			case ELEMENT_OUT_OF_RANGE:
+				message.append(ELEMENT_OUT_OF_RANGE_MESSAGE);
+				break;
+			case NUM_ELEMENTS_MISMATCH:
+				message.append(NUM_ELEMENTS_MISMATCH_MESSAGE);
+				break;
 			default:
 				message.append(NUM_ELEMENTS_NOT_FOUND_MESSAGE);
 		}
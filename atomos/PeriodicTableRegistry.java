@@ -0,0 +1,208 @@
+package Molecularize.atomos;
+
+/*----------------------------------------------------------------------*\
+	This class holds several named periodic tables at once, such as
+	standard weights, conventional weights and lab-specific overrides,
+	sharing their elements so that each distinct element is held only
+	once however many tables contain it.
+
+	Every element registered is replaced by a shared instance equal to
+	it, and the name and symbol strings of distinct elements are shared
+	too. A variant of a registered table holds the same instances as
+	its base, so only the elements it overrides are new. Each table is
+	held as an immutable snapshot with its own elements array, so that
+	getElement stays a single array read.
+\*----------------------------------------------------------------------*/
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class PeriodicTableRegistry {
+
+	//------------------[Field declarations begin here]------------------//
+
+	private final Map<String, PeriodicTable> tables;        //The registered snapshots by name
+	private final Map<ElementKey, Element>   elements;      //The shared instance of each distinct element
+	private final Map<String, String>        strings;       //The shared instance of each name and symbol
+
+	//-------------------[Field declarations end here]-------------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	public PeriodicTableRegistry () {
+		this.tables   = new ConcurrentHashMap<String, PeriodicTable>();
+		this.elements = new HashMap<ElementKey, Element>();
+		this.strings  = new HashMap<String, String>();
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//----------------------[Accessors begin here]-----------------------//
+
+	//Get a registered table, or null if no table has the name
+	public PeriodicTable get (String name) {
+		return tables.get(name);
+	}
+
+	//Get the number of distinct elements shared between the registered tables
+	public synchronized int getNumSharedElements () {
+		return elements.size();
+	}
+
+	//-----------------------[Accessors end here]------------------------//
+
+
+
+	//-----------------------[Mutators begin here]-----------------------//
+
+	//Register a table under a name, replacing any table of that name, and return the snapshot registered
+	public synchronized PeriodicTable register (String name, PeriodicTable table) {
+		//Check for a table with elements to share
+		if (!PeriodicTable.isValid(table)) {
+			throw new IllegalArgumentException("Invalid periodic table registered as " + name);
+		}
+
+		Element[] shared = table.getElements().clone();
+
+		//Replace each element with its shared instance
+		for (int i = 0; i < shared.length; i++) {
+			shared[i] = share(shared[i]);
+		}
+
+		PeriodicTable snapshot = PeriodicTable.fromElements(shared).snapshot();
+		tables.put(name, snapshot);
+
+		return snapshot;
+	}
+
+	//Register a variant of a registered table under a name, in which each override replaces the element with the
+	//same atomic number, and return the snapshot registered
+	public synchronized PeriodicTable registerVariant (String name, String baseName, Element... overrides) throws
+			ElementDataException {
+
+		PeriodicTable base = tables.get(baseName);
+
+		//Check for a registered base table
+		if (base == null) {
+			throw new IllegalArgumentException("No periodic table registered as " + baseName);
+		}
+
+		Element[] shared = base.getElements();
+
+		for (Element override : overrides) {
+			int atomicNumber = override.getAtomicNumber();
+
+			//Check whether the element fits in the table
+			if (atomicNumber < 1 || atomicNumber > shared.length) {
+				throw ElementDataException.create(
+						"" + atomicNumber,
+						ElementDataException.ExceptionType.INVALID_ATOMIC_NUMBER
+				);
+			}
+
+			shared[atomicNumber - 1] = share(override);
+		}
+
+		PeriodicTable snapshot = PeriodicTable.fromElements(shared).snapshot();
+		tables.put(name, snapshot);
+
+		return snapshot;
+	}
+
+	//Stop holding a table; its elements stay shared with any table registered later
+	public PeriodicTable unregister (String name) {
+		return tables.remove(name);
+	}
+
+	//------------------------[Mutators end here]------------------------//
+
+
+
+	//Helper function for registration: get the shared instance of an element, sharing it if it is new
+	private Element share (Element element) {
+		//Leave empty positions empty
+		if (element == null) {
+			return null;
+		}
+
+		ElementKey key    = new ElementKey(element);
+		Element    shared = elements.get(key);
+
+		if (shared == null) {
+			shared = new Element(element, share(element.getName()), share(element.getSymbol()));
+			elements.put(new ElementKey(shared), shared);
+		}
+
+		return shared;
+	}
+
+	//Helper function for registration: get the shared instance of a string
+	private String share (String string) {
+		String shared = strings.get(string);
+
+		if (shared == null) {
+			strings.put(string, string);
+			shared = string;
+		}
+
+		return shared;
+	}
+
+	//Helper class for registration: compare elements by every value they hold
+	private static final class ElementKey {
+		private final Element element;
+		private final int     hash;
+
+		private ElementKey (Element element) {
+			this.element = element;
+			this.hash    = 31 * (31 * element.getAtomicNumber() + element.getSymbol().hashCode()) +
+					Double.valueOf(element.getMolarMass()).hashCode();
+		}
+
+		@Override
+		public int hashCode () {
+			return hash;
+		}
+
+		@Override
+		public boolean equals (Object o) {
+			//Check for a type-match
+			if (!(o instanceof ElementKey)) {
+				return false;
+			}
+
+			Element other = ((ElementKey)o).element;
+
+			return	element.getCharge      () == other.getCharge      () &&
+					element.getAtomicNumber() == other.getAtomicNumber() &&
+					element.getGroup       () == other.getGroup       () &&
+					element.getPeriod      () == other.getPeriod      () &&
+					Double.compare(element.getMolarMass(), other.getMolarMass()) == 0 &&
+					element.getName  ().equals(other.getName  ()) &&
+					element.getSymbol().equals(other.getSymbol()) &&
+					hasEqualIsotopes(element, other);
+		}
+
+		//Helper function for equals: check whether two elements have the same isotope data
+		private static boolean hasEqualIsotopes (Element a, Element b) {
+			//Check for the same number of isotopes
+			if (a.getNumIsotopes() != b.getNumIsotopes()) {
+				return false;
+			}
+
+			for (int i = 0; i < a.getNumIsotopes(); i++) {
+				if (Double.compare(a.getIsotopeMass     (i), b.getIsotopeMass     (i)) != 0 ||
+						Double.compare(a.getIsotopeAbundance(i), b.getIsotopeAbundance(i)) != 0) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+	}
+}
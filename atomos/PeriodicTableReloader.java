@@ -0,0 +1,164 @@
+package Molecularize.atomos;
+
+/*----------------------------------------------------------------------*\
+	This class reloads a periodic table file whenever it changes, so
+	that revised element data can be picked up without a restart. The
+	file's directory is watched from a background thread; each time
+	the file is created or modified, it is parsed again and, if the
+	table is valid, published as a new version of a SharedPeriodicTable.
+
+	Files are parsed strictly: every element must be valid, and the
+	file must hold exactly as many elements as its table size. A file
+	that cannot be read or parsed, or that fails these checks, such as
+	one that is only partly written, leaves the current version in
+	place, and the error is kept for getLastError. The next change to
+	the file is retried, whatever the error was.
+\*----------------------------------------------------------------------*/
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+import Molecularize.DataFormatException;
+import Molecularize.DataReader;
+
+public class PeriodicTableReloader implements Closeable {
+
+	//------------------[Field declarations begin here]------------------//
+
+	private final Path                file;         //The table file being watched
+	private final SharedPeriodicTable target;       //Where each table loaded is published
+	private final WatchService        watcher;      //The watcher of the file's directory
+	private final Thread              thread;       //The background thread waiting for changes
+	private volatile Exception        lastError;    //The error from the last reload, or null if it succeeded
+
+	//-------------------[Field declarations end here]-------------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	//Prepare to watch a table file; call start to begin watching
+	public PeriodicTableReloader (Path file, SharedPeriodicTable target) throws IOException {
+		this.file      = file.toAbsolutePath();
+		this.target    = target;
+		this.watcher   = this.file.getFileSystem().newWatchService();
+		this.lastError = null;
+
+		//Watch the directory, since only directories can be watched
+		this.file.getParent().register(
+				watcher,
+				StandardWatchEventKinds.ENTRY_CREATE,
+				StandardWatchEventKinds.ENTRY_MODIFY
+		);
+
+		this.thread = new Thread(new Runnable() {
+			@Override
+			public void run () {
+				watch();
+			}
+		}, "PeriodicTableReloader " + this.file);
+
+		//Do not keep the application running just to watch the file
+		this.thread.setDaemon(true);
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//----------------------[Accessors begin here]-----------------------//
+
+	public Path getFile () {
+		return file;
+	}
+
+	//Get the error from the last reload, or null if it succeeded
+	public Exception getLastError () {
+		return lastError;
+	}
+
+	//-----------------------[Accessors end here]------------------------//
+
+
+
+	//------------------------[Reloading begins here]--------------------//
+
+	//Begin watching the file in the background
+	public void start () {
+		thread.start();
+	}
+
+	//Parse the file strictly and publish it if it holds a valid table, returning whether it was published
+	public boolean reload () {
+		try (DataReader reader = new DataReader(Files.newInputStream(file))) {
+			PeriodicTable table = PeriodicTable.deserializeStrict(reader);
+
+			//Check whether the table is valid
+			if (!PeriodicTable.isValid(table)) {
+				throw PeriodicTableDataException.create(
+						PeriodicTableDataException.ExceptionType.NULL_ELEMENTS
+				);
+			}
+
+			target.set(table);
+			lastError = null;
+
+			return true;
+		} catch (IOException | DataFormatException | ElementDataException | PeriodicTableDataException |
+				RuntimeException e) {
+
+			//Keep the error, including any unexpected one, so that the background thread keeps watching
+			lastError = e;
+
+			return false;
+		}
+	}
+
+	//Stop watching the file
+	@Override
+	public void close () throws IOException {
+		watcher.close();
+		thread.interrupt();
+	}
+
+	//-------------------------[Reloading ends here]---------------------//
+
+
+
+	//Helper function for the background thread: reload the file each time it changes, until closed
+	private void watch () {
+		Path fileName = file.getFileName();
+
+		try {
+			while (true) {
+				WatchKey key     = watcher.take();
+				boolean  changed = false;
+
+				//Check whether any change was to the file, or whether changes were missed
+				for (WatchEvent<?> event : key.pollEvents()) {
+					if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+						changed = true;
+					}
+				}
+
+				if (changed) {
+					reload();
+				}
+
+				//Check whether the directory can still be watched
+				if (!key.reset()) {
+					return;
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			//The reloader has been closed
+		}
+	}
+}
@@ -0,0 +1,118 @@
+package Molecularize.atomos;
+
+/*----------------------------------------------------------------------*\
+	This class shares a periodic table between threads. Readers get an
+	immutable snapshot without locking. Writers change a mutable copy
+	of the current snapshot and publish it atomically, retrying if
+	another writer published a snapshot in the meantime, so readers
+	only ever see complete tables.
+
+	Each published snapshot is numbered, starting from 0, so that data
+	derived from a snapshot, such as parsed molecules or molar masses,
+	can be cached by version and discarded when a new one is published.
+	A reader that holds on to a Version keeps using the same snapshot
+	however many are published after it.
+\*----------------------------------------------------------------------*/
+
+import java.util.concurrent.atomic.AtomicReference;
+
+public class SharedPeriodicTable {
+
+	//------------------[Field declarations begin here]------------------//
+
+	private final AtomicReference<Version> current;     //The latest published snapshot
+
+	//-------------------[Field declarations end here]-------------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	//Share a snapshot of a table as version 0
+	public SharedPeriodicTable (PeriodicTable table) {
+		this.current = new AtomicReference<Version>(new Version(table.snapshot(), 0));
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//----------------------[Accessors begin here]-----------------------//
+
+	//Get the latest published snapshot
+	public PeriodicTable get () {
+		return current.get().getTable();
+	}
+
+	//Get the latest published snapshot together with its version number
+	public Version getVersion () {
+		return current.get();
+	}
+
+	//-----------------------[Accessors end here]------------------------//
+
+
+
+	//-----------------------[Mutators begin here]-----------------------//
+
+	//Publish a snapshot of a table as a new version, returning that version
+	public Version set (PeriodicTable table) {
+		PeriodicTable snapshot = table.snapshot();
+
+		while (true) {
+			Version version = current.get();
+			Version updated = new Version(snapshot, version.getNumber() + 1);
+
+			//Publish the table unless another version was published first
+			if (current.compareAndSet(version, updated)) {
+				return updated;
+			}
+		}
+	}
+
+	//Change a copy of the current snapshot and publish it as a new version, returning that version. The update may
+	//be applied more than once if other versions are published concurrently, so it should only change the table.
+	public Version update (Update update) throws PeriodicTableDataException {
+		while (true) {
+			Version       version = current.get();
+			PeriodicTable copy    = new PeriodicTable(version.getTable());
+
+			update.apply(copy);
+
+			Version updated = new Version(copy.snapshot(), version.getNumber() + 1);
+
+			//Publish the change unless another version was published first
+			if (current.compareAndSet(version, updated)) {
+				return updated;
+			}
+		}
+	}
+
+	//------------------------[Mutators end here]------------------------//
+
+
+
+	//A change to a mutable copy of a shared table
+	public interface Update {
+		void apply (PeriodicTable table) throws PeriodicTableDataException;
+	}
+
+	//A published snapshot and its version number
+	public static final class Version {
+		private final PeriodicTable table;      //The snapshot published
+		private final long          number;     //The number of snapshots published before this one
+
+		private Version (PeriodicTable table, long number) {
+			this.table  = table;
+			this.number = number;
+		}
+
+		public PeriodicTable getTable () {
+			return table;
+		}
+
+		public long getNumber () {
+			return number;
+		}
+	}
+}
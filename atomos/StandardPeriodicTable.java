@@ -0,0 +1,72 @@
+package Molecularize.atomos;
+
+/*----------------------------------------------------------------------*\
+	This class provides the standard periodic table bundled with the
+	library in res/standard.ptbl. The table is created once, the first
+	time it is requested, and the same immutable snapshot is returned
+	to every caller after that. It is created from the constants in
+	StandardTableData, which are generated from the table file, so
+	that no data need to be read or parsed at startup.
+\*----------------------------------------------------------------------*/
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+import Molecularize.DataFormatException;
+import Molecularize.DataReader;
+
+public class StandardPeriodicTable {
+
+	//-----------------[Constant declaration begins here]----------------//
+
+	public static final String RESOURCE = "/Molecularize/res/standard.ptbl";    //The classpath location of the table
+
+	//------------------[Constant declaration ends here]-----------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	private StandardPeriodicTable () {
+
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//----------------------[Accessors begin here]-----------------------//
+
+	//Get the standard periodic table, creating it on the first call
+	public static PeriodicTable get () {
+		return Holder.TABLE;
+	}
+
+	//Read and parse the table file from the classpath, accepting the legacy prefix used by the file
+	public static PeriodicTable loadResource () {
+		InputStream in = StandardPeriodicTable.class.getResourceAsStream(RESOURCE);
+
+		//Check whether the table is on the classpath
+		if (in == null) {
+			throw new IllegalStateException("Standard periodic table not found on the classpath: " + RESOURCE);
+		}
+
+		try (DataReader reader = new DataReader(in)) {
+			return PeriodicTable.deserialize(reader).snapshot();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} catch (DataFormatException | PeriodicTableDataException e) {
+			throw new IllegalStateException("Standard periodic table is invalid: " + RESOURCE, e);
+		}
+	}
+
+	//-----------------------[Accessors end here]------------------------//
+
+
+
+	//Helper class for get: create the table when the class is first used, which the JVM does exactly once
+	private static class Holder {
+		private static final PeriodicTable TABLE = StandardTableData.create().snapshot();
+	}
+}
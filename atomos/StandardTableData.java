@@ -0,0 +1,122 @@
+package Molecularize.atomos;
+
+/*----------------------------------------------------------------------*\
+	This class is generated by StandardTableGenerator from
+	res/standard.ptbl. Do not edit it by hand.
+\*----------------------------------------------------------------------*/
+
+class StandardTableData {
+
+	//-----------------[Constant declaration begins here]----------------//
+
+	static final int TABLE_SIZE = 118;
+
+	static final int[] ATOMIC_NUMBERS = {
+			1, 2, 3, 4, 5, 6, 7, 8, 9, 10,
+			11, 12, 13, 14, 15, 16, 17, 18, 19, 20,
+			21, 22, 23, 24, 25, 26, 27, 28, 29, 30,
+			31, 32, 33, 34, 35, 36, 37, 38, 39, 40,
+			41, 42, 43, 44, 45, 46, 47, 48, 49, 50,
+			51, 52, 53, 54, 55, 56, 57, 58, 59, 60,
+			61, 62, 63, 64, 65, 66, 67, 68, 69, 70,
+			71, 72, 73, 74, 75, 76, 77, 78, 79, 80,
+			81, 82, 83, 84, 85, 86, 87, 88, 89, 90,
+			91, 92, 93, 94, 95, 96, 97, 98, 99, 100,
+			101, 102, 103, 104, 105, 106, 107, 108, 109, 110,
+			111, 112, 113, 114, 115, 116, 117, 118
+	};
+
+	static final int[] GROUPS = {
+			1, 18, 1, 2, 13, 14, 15, 16, 17, 18,
+			1, 2, 13, 14, 15, 16, 17, 18, 1, 2,
+			3, 4, 5, 6, 7, 8, 9, 10, 11, 12,
+			13, 14, 15, 16, 17, 18, 1, 2, 3, 4,
+			5, 6, 7, 8, 9, 10, 11, 12, 13, 14,
+			15, 16, 17, 18, 1, 2, 3, 3, 3, 3,
+			3, 3, 3, 3, 3, 3, 3, 3, 3, 3,
+			3, 4, 5, 6, 7, 8, 9, 10, 11, 12,
+			13, 14, 15, 16, 17, 18, 1, 2, 3, 3,
+			3, 3, 3, 3, 3, 3, 3, 3, 3, 3,
+			3, 3, 3, 4, 5, 6, 7, 8, 9, 10,
+			11, 12, 13, 14, 15, 16, 17, 18
+	};
+
+	static final int[] PERIODS = {
+			1, 1, 2, 2, 2, 2, 2, 2, 2, 2,
+			3, 3, 3, 3, 3, 3, 3, 3, 4, 4,
+			4, 4, 4, 4, 4, 4, 4, 4, 4, 4,
+			4, 4, 4, 4, 4, 4, 5, 5, 5, 5,
+			5, 5, 5, 5, 5, 6, 6, 6, 6, 6,
+			6, 6, 6, 6, 6, 6, 6, 6, 6, 6,
+			6, 6, 6, 6, 6, 6, 6, 6, 6, 6,
+			6, 6, 6, 6, 6, 6, 6, 6, 6, 6,
+			6, 6, 6, 6, 6, 6, 7, 7, 7, 7,
+			7, 7, 7, 7, 7, 7, 7, 7, 7, 7,
+			7, 7, 7, 7, 7, 7, 7, 7, 7, 7,
+			7, 7, 7, 7, 7, 7, 7, 7
+	};
+
+	static final double[] MOLAR_MASSES = {
+			1.0079, 4.0026, 6.94, 9.0122, 10.81, 12.011, 14.007, 15.999, 18.998, 20.18,
+			22.99, 24.305, 26.982, 28.085, 30.974, 32.06, 35.45, 39.948, 39.098, 40.078,
+			44.956, 47.867, 50.942, 51.996, 54.938, 55.845, 58.933, 58.693, 63.546, 65.38,
+			69.723, 72.64, 74.922, 78.971, 79.904, 83.798, 85.468, 87.62, 88.906, 91.224,
+			92.906, 95.95, 98.0, 101.07, 102.91, 106.42, 107.87, 112.41, 114.82, 118.71,
+			121.76, 127.6, 126.9, 131.29, 132.91, 137.77, 138.91, 140.12, 140.91, 144.24,
+			145.0, 150.36, 151.96, 157.25, 158.93, 162.5, 164.93, 167.26, 168.93, 173.05,
+			174.97, 178.49, 180.95, 183.84, 186.21, 190.23, 192.22, 195.08, 196.97, 200.59,
+			204.38, 207.2, 208.98, 209.0, 210.0, 222.0, 223.0, 226.0, 227.0, 232.04,
+			231.04, 238.03, 237.0, 244.0, 243.0, 247.0, 247.0, 251.0, 252.0, 257.0,
+			258.0, 259.0, 262.0, 267.0, 268.0, 271.0, 272.0, 277.0, 276.0, 281.0,
+			280.0, 285.0, 285.0, 287.0, 289.0, 291.0, 294.0, 294.0
+	};
+
+	static final String[] NAMES = {
+			"hydrogen", "helium", "lithium", "beryllium", "boron", "carbon", "nitrogen", "oxygen", "fluorine", "neon",
+			"sodium", "magnesium", "aluminium", "silicon", "phosphorus", "sulphur", "chlorine", "argon", "potassium", "calcium",
+			"scandium", "titanium", "vanadium", "chromium", "manganese", "iron", "cobalt", "nickel", "copper", "zinc",
+			"gallium", "germanium", "arsenic", "selenium", "bromine", "krypton", "rubidium", "strontium", "yttrium", "zirconium",
+			"niobium", "molybdenum", "technetium", "ruthenium", "rhodium", "palladium", "silver", "cadmium", "indium", "tin",
+			"antimony", "tellurium", "iodine", "xenon", "caesium", "barium", "lanthanum", "cerium", "praseodymium", "neodymium",
+			"promethium", "samarium", "europium", "gadolinium", "terbium", "dysprosium", "holmium", "erbium", "thulium", "ytterbium",
+			"lutetium", "hafnium", "tantalum", "tungsten", "rhenium", "osmium", "iridium", "platinum", "gold", "mercury",
+			"thallium", "lead", "bismuth", "polonium", "astatine", "radon", "francium", "radium", "actinium", "thorium",
+			"protactinium", "uranium", "neptunium", "plutonium", "americium", "curium", "berkelium", "californium", "einsteinium", "fermium",
+			"mendelevium", "nobelium", "lawrencium", "rutherfordium", "dubnium", "seaborgium", "bohrium", "hassium", "meitnerium", "darmstadtium",
+			"roentgenium", "copernicium", "nihonium", "flerovium", "moscovium", "livermorium", "tennesine", "oganesson"
+	};
+
+	static final String[] SYMBOLS = {
+			"H", "He", "Li", "Be", "B", "C", "N", "O", "F", "Ne",
+			"Na", "Mg", "Al", "Si", "P", "S", "Cl", "Ar", "K", "Ca",
+			"Sc", "Ti", "V", "Cr", "Mn", "Fe", "Co", "Ni", "Cu", "Zn",
+			"Ga", "Ge", "As", "Se", "Br", "Kr", "Rb", "Sr", "Y", "Zr",
+			"Nb", "Mo", "Tc", "Ru", "Rh", "Pd", "Ag", "Cd", "In", "Sn",
+			"Sb", "Te", "I", "Xe", "Cs", "Ba", "La", "Ce", "Pr", "Nd",
+			"Pm", "Sm", "Eu", "Gd", "Tb", "Dy", "Ho", "Er", "Tm", "Yb",
+			"Lu", "Hf", "Ta", "W", "Re", "Os", "Ir", "Pt", "Au", "Hg",
+			"Tl", "Pb", "Bi", "Po", "At", "Rn", "Fr", "Ra", "Ac", "Th",
+			"Pa", "U", "Np", "Pu", "Am", "Cm", "Bk", "Cf", "Es", "Fm",
+			"Md", "No", "Lr", "Rf", "Db", "Sg", "Bh", "Hs", "Mt", "Ds",
+			"Rg", "Cn", "Nh", "Fl", "Mc", "Lv", "Ts", "Og"
+	};
+
+	//------------------[Constant declaration ends here]-----------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	private StandardTableData () {
+
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//Create the table from the constants
+	static PeriodicTable create () {
+		return PeriodicTable.fromColumns(TABLE_SIZE, ATOMIC_NUMBERS, GROUPS, PERIODS, MOLAR_MASSES, NAMES, SYMBOLS);
+	}
+}
@@ -0,0 +1,138 @@
+package Molecularize.atomos;
+
+/*----------------------------------------------------------------------*\
+	This class generates StandardTableData from res/standard.ptbl, so
+	that the standard periodic table can be created from constants
+	without parsing. Run it whenever the table file changes:
+
+		java Molecularize.atomos.StandardTableGenerator
+				res/standard.ptbl atomos/StandardTableData.java
+
+	StandardTableDataTest fails while the two differ.
+\*----------------------------------------------------------------------*/
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import Molecularize.DataFormatException;
+
+public class StandardTableGenerator {
+
+	//-----------------[Constant declaration begins here]----------------//
+
+	private static final int VALUES_PER_LINE = 10;     //The number of array values written on each line
+
+	//------------------[Constant declaration ends here]-----------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	private StandardTableGenerator () {
+
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//--------------------[Code generation begins here]------------------//
+
+	public static void main (String[] args) throws
+			IOException, DataFormatException, PeriodicTableDataException {
+
+		//Check for the table and output files
+		if (args.length != 2) {
+			System.err.println("Usage: StandardTableGenerator <table file> <output file>");
+			System.exit(1);
+		}
+
+		Path          tableFile = Paths.get(args[0]);
+		PeriodicTable table     = MappedDataLoader.loadPeriodicTable(tableFile);
+
+		try (Writer out = Files.newBufferedWriter(Paths.get(args[1]), StandardCharsets.UTF_8)) {
+			generate(table, tableFile.toString(), out);
+		}
+	}
+
+	//Write the source of StandardTableData for a table
+	public static void generate (PeriodicTable table, String source, Appendable out) throws IOException {
+		Element[] elements    = table.getElements();
+		int       numElements = table.getNumElements();
+
+		//Collect the columns of the elements in the table
+		String[] atomicNumbers = new String[numElements];
+		String[] groups        = new String[numElements];
+		String[] periods       = new String[numElements];
+		String[] molarMasses   = new String[numElements];
+		String[] names         = new String[numElements];
+		String[] symbols       = new String[numElements];
+
+		for (int i = 0, j = 0; i < elements.length; i++) {
+			//Check for isotope data, which the generated class does not hold
+			if (elements[i] != null && elements[i].getNumIsotopes() > 0) {
+				throw new IllegalArgumentException("Isotope data cannot be generated: " + elements[i].getSymbol());
+			}
+
+			if (elements[i] != null) {
+				atomicNumbers[j] = Integer.toString(elements[i].getAtomicNumber());
+				groups       [j] = Integer.toString(elements[i].getGroup());
+				periods      [j] = Integer.toString(elements[i].getPeriod());
+				molarMasses  [j] = Double .toString(elements[i].getMolarMass());
+				names        [j] = '"' + elements[i].getName()   + '"';
+				symbols      [j] = '"' + elements[i].getSymbol() + '"';
+				j++;
+			}
+		}
+
+		out.append("package Molecularize.atomos;\n\n");
+		out.append("/*----------------------------------------------------------------------*\\\n");
+		out.append("\tThis class is generated by StandardTableGenerator from\n");
+		out.append("\t").append(source.replace('\\', '/')).append(". Do not edit it by hand.\n");
+		out.append("\\*----------------------------------------------------------------------*/\n\n");
+		out.append("class StandardTableData {\n\n");
+		out.append("\t//-----------------[Constant declaration begins here]----------------//\n\n");
+		out.append("\tstatic final int TABLE_SIZE = ").append(Integer.toString(table.getTableSize())).append(";\n\n");
+
+		writeArray(out, "int[]",    "ATOMIC_NUMBERS", atomicNumbers);
+		writeArray(out, "int[]",    "GROUPS",         groups);
+		writeArray(out, "int[]",    "PERIODS",        periods);
+		writeArray(out, "double[]", "MOLAR_MASSES",   molarMasses);
+		writeArray(out, "String[]", "NAMES",          names);
+		writeArray(out, "String[]", "SYMBOLS",        symbols);
+
+		out.append("\t//------------------[Constant declaration ends here]-----------------//\n\n\n\n");
+		out.append("\t//---------------------[Constructors begin here]---------------------//\n\n");
+		out.append("\tprivate StandardTableData () {\n\n\t}\n\n");
+		out.append("\t//----------------------[Constructors end here]----------------------//\n\n\n\n");
+		out.append("\t//Create the table from the constants\n");
+		out.append("\tstatic PeriodicTable create () {\n");
+		out.append("\t\treturn PeriodicTable.fromColumns(TABLE_SIZE, ATOMIC_NUMBERS, GROUPS, PERIODS, MOLAR_MASSES, NAMES, SYMBOLS);\n");
+		out.append("\t}\n");
+		out.append("}\n");
+	}
+
+	//--------------------[Code generation ends here]--------------------//
+
+
+
+	//Helper function for generate: write a constant array, several values to a line
+	private static void writeArray (Appendable out, String type, String name, String[] values) throws IOException {
+		out.append("\tstatic final ").append(type).append(' ').append(name).append(" = {");
+
+		for (int i = 0; i < values.length; i++) {
+			out.append(i % VALUES_PER_LINE == 0 ? "\n\t\t\t" : " ");
+			out.append(values[i]);
+
+			if (i < values.length - 1) {
+				out.append(',');
+			}
+		}
+
+		out.append("\n\t};\n\n");
+	}
+}
@@ -0,0 +1,106 @@
+package Molecularize.test.atomos;
+
+/*----------------------------------------------------------------------*\
+	This class times getMolarMass, getCharge and isValid on a deeply
+	nested molecule, along with the cost of parsing it, since the
+	values are now computed once when a molecule is constructed. Run it
+	as a main class:
+
+		java Molecularize.test.atomos.MoleculeMemoizationBenchmark
+				[depth] [calls per round] [rounds]
+
+	It only uses the public Molecule API, so the same class can be run
+	against a build of the commit before memoization, where each call
+	walks the whole particle tree, to compare the two:
+
+		git worktree add /tmp/recursive <commit before memoization>
+
+	then compile both trees and this class, and run it against each.
+	Early rounds include JIT warm-up; compare the later rounds.
+\*----------------------------------------------------------------------*/
+
+import Molecularize.atomos.Molecule;
+import Molecularize.atomos.PeriodicTable;
+import Molecularize.atomos.StandardPeriodicTable;
+
+public class MoleculeMemoizationBenchmark {
+
+	//-----------------[Constant declaration begins here]----------------//
+
+	private static final int DEFAULT_DEPTH  = 12;           //The default number of groups around the innermost one
+	private static final int DEFAULT_CALLS  = 1000000;      //The default number of calls to each method per round
+	private static final int DEFAULT_ROUNDS = 5;            //The default number of timed rounds
+
+	//------------------[Constant declaration ends here]-----------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	private MoleculeMemoizationBenchmark () {
+
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//----------------------[Benchmarking begins here]-------------------//
+
+	public static void main (String[] args) throws Exception {
+		int depth  = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DEPTH;
+		int calls  = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CALLS;
+		int rounds = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_ROUNDS;
+
+		PeriodicTable table   = StandardPeriodicTable.get();
+		String        formula = nestedFormula(depth);
+		Molecule      deep    = Molecule.fromMolecularFormula(formula, table);
+		double        sink    = 0;      //Keeps the results in use, so that the calls are not optimized away
+
+		System.out.println("Formula: " + formula);
+
+		for (int round = 1; round <= rounds; round++) {
+			long start = System.nanoTime();
+
+			//Time the values read from the molecule
+			for (int i = 0; i < calls; i++) {
+				sink += deep.getMolarMass();
+				sink += deep.getCharge();
+				sink += Molecule.isValid(deep) ? 1 : 0;
+			}
+
+			long queried = System.nanoTime();
+
+			//Time parsing, which now includes computing the values
+			for (int i = 0; i < calls / 100; i++) {
+				sink += Molecule.fromMolecularFormula(formula, table).getMolarMass();
+			}
+
+			long parsed = System.nanoTime();
+
+			System.out.printf(
+					"Round %d: %.2f ns per getMolarMass + getCharge + isValid, %.0f ns per parse%n",
+					round,
+					(queried - start) / (double)calls,
+					(parsed - queried) / (double)Math.max(1, calls / 100)
+			);
+		}
+
+		System.out.println("Checksum: " + sink);
+	}
+
+	//-----------------------[Benchmarking ends here]--------------------//
+
+
+
+	//Helper function for main: get a formula with a number of groups nested around C6H12O6
+	private static String nestedFormula (int depth) {
+		String formula = "C6H12O6";
+
+		for (int i = 0; i < depth; i++) {
+			formula = "H2(" + formula + ")3";
+		}
+
+		return formula;
+	}
+}
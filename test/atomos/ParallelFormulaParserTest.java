@@ -0,0 +1,112 @@
+package Molecularize.test.atomos;
+
+/*----------------------------------------------------------------------*\
+	This class checks that a ParallelFormulaParser returns a result for
+	every formula in input order, including a failure for each invalid
+	or null formula, without stopping the batch. Run it as a main
+	class; it exits with a non-zero status if a check fails.
+\*----------------------------------------------------------------------*/
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import Molecularize.ParseResult;
+import Molecularize.atomos.Molecule;
+import Molecularize.atomos.MoleculeDataException;
+import Molecularize.atomos.ParallelFormulaParser;
+import Molecularize.atomos.PeriodicTable;
+import Molecularize.atomos.StandardPeriodicTable;
+
+public class ParallelFormulaParserTest {
+
+	//-----------------[Constant declaration begins here]----------------//
+
+	private static final int NUM_FORMULAS = 10000;      //The number of formulas in the large batch
+
+	//------------------[Constant declaration ends here]-----------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	private ParallelFormulaParserTest () {
+
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//-----------------------[Testing begins here]-----------------------//
+
+	public static void main (String[] args) throws Exception {
+		PeriodicTable         table  = StandardPeriodicTable.get();
+		ParallelFormulaParser parser = new ParallelFormulaParser(new ForkJoinPool(4), 16);
+
+		checkSmallBatch(parser, table);
+		checkLargeBatch(parser, table);
+
+		System.out.println("ParallelFormulaParserTest passed");
+	}
+
+	//Check the result of each kind of formula, including null
+	private static void checkSmallBatch (ParallelFormulaParser parser, PeriodicTable table) throws
+			MoleculeDataException {
+
+		List<ParseResult<Molecule>> results = parser.parse(Arrays.asList("H2O", null, "Xx", "((H)", "NaCl"), table);
+
+		check(results.size() == 5, "the batch does not have a result for each formula");
+		check(sameMolecule(results.get(0), Molecule.fromMolecularFormula("H2O", table)), "H2O is not parsed");
+		check(results.get(1).getErrorReason() == MoleculeDataException.ExceptionType.INVALID_MOLECULE_FORMAT,
+				"a null formula is not an invalid molecule format");
+		check(results.get(2).getErrorReason() == MoleculeDataException.ExceptionType.ELEMENT_NOT_FOUND &&
+				"Xx".equals(results.get(2).getData()), "an unknown element is not reported with its formula");
+		check(results.get(3).getErrorReason() == MoleculeDataException.ExceptionType.BRACKET_IMBALANCE,
+				"an unclosed bracket is not reported");
+		check(sameMolecule(results.get(4), Molecule.fromMolecularFormula("NaCl", table)),
+				"a formula after invalid ones is not parsed");
+	}
+
+	//Check that results split between many tasks stay in input order, with nulls among them
+	private static void checkLargeBatch (ParallelFormulaParser parser, PeriodicTable table) {
+		List<String> formulas = new ArrayList<String>();
+
+		for (int i = 0; i < NUM_FORMULAS; i++) {
+			formulas.add(i % 7 == 0 ? null : "C" + (i + 1));
+		}
+
+		List<ParseResult<Molecule>> results = parser.parse(formulas.stream(), table);
+
+		check(results.size() == NUM_FORMULAS, "the stream batch does not have a result for each formula");
+
+		for (int i = 0; i < NUM_FORMULAS; i++) {
+			ParseResult<Molecule> result = results.get(i);
+
+			if (formulas.get(i) == null) {
+				check(!result.isSuccess(), "a null formula succeeded at " + i);
+			} else {
+				check(result.isSuccess() && result.getValue().getMolecularFormula().equals(formulas.get(i)),
+						"the result at " + i + " is not the formula at " + i);
+			}
+		}
+	}
+
+	//------------------------[Testing ends here]------------------------//
+
+
+
+	//Helper function for testing: check whether a result holds a molecule equal to another
+	private static boolean sameMolecule (ParseResult<Molecule> result, Molecule expected) {
+		return result.isSuccess() && Molecule.serialize(result.getValue()).equals(Molecule.serialize(expected));
+	}
+
+	//Helper function for testing: fail with a message unless a condition holds
+	private static void check (boolean condition, String message) {
+		if (!condition) {
+			System.err.println("ParallelFormulaParserTest failed: " + message);
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,188 @@
+package Molecularize.test.atomos;
+
+/*----------------------------------------------------------------------*\
+	This class checks that a PeriodicTableReloader rejects bad table
+	files, including partly written ones and ones with a bad element,
+	and keeps watching after them, so that a valid file written
+	afterwards is still published. Run it as a main class; it exits
+	with a non-zero status if a check fails.
+\*----------------------------------------------------------------------*/
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import Molecularize.atomos.ElementDataException;
+import Molecularize.atomos.PeriodicTable;
+import Molecularize.atomos.PeriodicTableDataException;
+import Molecularize.atomos.PeriodicTableReloader;
+import Molecularize.atomos.SharedPeriodicTable;
+import Molecularize.atomos.StandardPeriodicTable;
+
+public class PeriodicTableReloaderTest {
+
+	//-----------------[Constant declaration begins here]----------------//
+
+	private static final long TIMEOUT = 10000;     //The longest time to wait for a change to be seen, in milliseconds
+
+	private static final String NEGATIVE_SIZE   = "{P:-1}";
+	private static final String OUT_OF_RANGE    = "{P:1},{{2},{18},{1},{4.0026},{helium},{He}}";
+	private static final String VALID_TABLE     = "{P:2},{{1},{1},{1},{1.008},{hydrogen},{H}},{{2},{18},{1},{4.0026},{helium},{He}}";
+
+	//------------------[Constant declaration ends here]-----------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	private PeriodicTableReloaderTest () {
+
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//-----------------------[Testing begins here]-----------------------//
+
+	public static void main (String[] args) throws Exception {
+		checkDirectReload();
+		checkWatchedReload();
+
+		System.out.println("PeriodicTableReloaderTest passed");
+	}
+
+	//Check that bad files are reported as errors by reload, without being published
+	private static void checkDirectReload () throws IOException {
+		Path                directory = Files.createTempDirectory("reloader");
+		Path                file      = directory.resolve("table.ptbl");
+		SharedPeriodicTable shared    = new SharedPeriodicTable(StandardPeriodicTable.get());
+		String              standard  = readStandardTable();
+
+		try (PeriodicTableReloader reloader = new PeriodicTableReloader(file, shared)) {
+			write(file, NEGATIVE_SIZE);
+			check(!reloader.reload(), "a negative table size is published");
+			check(reloader.getLastError() instanceof PeriodicTableDataException,
+					"a negative table size is not reported as PeriodicTableDataException");
+
+			write(file, OUT_OF_RANGE);
+			check(!reloader.reload(), "an atomic number outside the table is published");
+			check(reloader.getLastError() instanceof PeriodicTableDataException,
+					"an atomic number outside the table is not reported as PeriodicTableDataException");
+
+			//Cut the standard table off after helium, as a partly written file would be
+			write(file, standard.substring(0, standard.indexOf("He}}") + "He}}".length()));
+			check(!reloader.reload(), "a table cut short is published");
+			check(reloader.getLastError() instanceof PeriodicTableDataException,
+					"a table cut short is not reported as PeriodicTableDataException");
+
+			write(file, standard.replace("6.94", "6.94x"));
+			check(!reloader.reload(), "a table with an invalid element is published");
+			check(reloader.getLastError() instanceof ElementDataException,
+					"an invalid element is not reported as ElementDataException");
+
+			check(shared.getVersion().getNumber() == 0, "a bad file changed the version");
+
+			write(file, standard);
+			check(reloader.reload(), "the standard table file is not published");
+			check(shared.get().getNumElements() == StandardPeriodicTable.get().getTableSize(),
+					"the standard table file is not published whole");
+			check(shared.getVersion().getNumber() == 1, "the standard table file is not published as version 1");
+
+			write(file, VALID_TABLE);
+			check(reloader.reload(), "a valid file is not published after bad files");
+			check(reloader.getLastError() == null, "the last error is kept after a valid file");
+			check(shared.getVersion().getNumber() == 2, "a valid file is not published as version 2");
+		} finally {
+			delete(directory, file);
+		}
+	}
+
+	//Check that the background thread survives bad files and publishes the next valid one
+	private static void checkWatchedReload () throws IOException, InterruptedException {
+		Path                directory = Files.createTempDirectory("reloader");
+		Path                file      = directory.resolve("table.ptbl");
+		SharedPeriodicTable shared    = new SharedPeriodicTable(StandardPeriodicTable.get());
+
+		try (PeriodicTableReloader reloader = new PeriodicTableReloader(file, shared)) {
+			reloader.start();
+
+			write(file, NEGATIVE_SIZE);
+			check(awaitError(reloader), "a negative table size is not reported");
+
+			write(file, OUT_OF_RANGE);
+			Thread.sleep(500);
+
+			write(file, VALID_TABLE);
+			check(awaitVersion(shared), "a valid file is not published after bad files");
+
+			PeriodicTable table = shared.get();
+			check(table.getNumElements() == 2 && "He".equals(table.getElement(2).getSymbol()),
+					"the published table does not hold the valid file's elements");
+		} finally {
+			delete(directory, file);
+		}
+	}
+
+	//------------------------[Testing ends here]------------------------//
+
+
+
+	//Helper function for testing: wait for the reloader to report an error
+	private static boolean awaitError (PeriodicTableReloader reloader) throws InterruptedException {
+		long end = System.currentTimeMillis() + TIMEOUT;
+
+		while (reloader.getLastError() == null && System.currentTimeMillis() < end) {
+			Thread.sleep(20);
+		}
+
+		return reloader.getLastError() != null;
+	}
+
+	//Helper function for testing: wait for a shared table to publish a table of two elements
+	private static boolean awaitVersion (SharedPeriodicTable shared) throws InterruptedException {
+		long end = System.currentTimeMillis() + TIMEOUT;
+
+		while (shared.get().getNumElements() != 2 && System.currentTimeMillis() < end) {
+			Thread.sleep(20);
+		}
+
+		return shared.get().getNumElements() == 2;
+	}
+
+	//Helper function for testing: read the standard table file from the classpath
+	private static String readStandardTable () throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		byte[]                buffer = new byte[8192];
+
+		try (InputStream in = PeriodicTableReloaderTest.class.getResourceAsStream(StandardPeriodicTable.RESOURCE)) {
+			for (int numRead; (numRead = in.read(buffer)) != -1; ) {
+				output.write(buffer, 0, numRead);
+			}
+		}
+
+		return new String(output.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	//Helper function for testing: replace the contents of a file
+	private static void write (Path file, String data) throws IOException {
+		Files.write(file, data.getBytes(StandardCharsets.UTF_8));
+	}
+
+	//Helper function for testing: remove a temporary file and its directory
+	private static void delete (Path directory, Path file) throws IOException {
+		Files.deleteIfExists(file);
+		Files.deleteIfExists(directory);
+	}
+
+	//Helper function for testing: fail with a message unless a condition holds
+	private static void check (boolean condition, String message) {
+		if (!condition) {
+			System.err.println("PeriodicTableReloaderTest failed: " + message);
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package Molecularize.test.atomos;
+
+/*----------------------------------------------------------------------*\
+	This class times the cold start of the standard periodic table,
+	comparing StandardPeriodicTable.get(), which creates the table from
+	the generated StandardTableData constants, with loadResource(),
+	which parses res/standard.ptbl with PeriodicTable.deserialize. Run
+	it as a main class:
+
+		java Molecularize.test.atomos.StandardTableBenchmark [runs]
+
+	Cold start includes class loading, so each run creates the table
+	once in a fresh JVM, started with the same classpath. The median
+	and fastest runs of each path are reported.
+\*----------------------------------------------------------------------*/
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import Molecularize.atomos.PeriodicTable;
+import Molecularize.atomos.StandardPeriodicTable;
+
+public class StandardTableBenchmark {
+
+	//-----------------[Constant declaration begins here]----------------//
+
+	private static final int    DEFAULT_RUNS = 10;              //The default number of fresh JVMs started for each path
+	private static final String CONSTANTS    = "constants";     //The argument that times the generated constants
+	private static final String RESOURCE     = "resource";      //The argument that times parsing the table file
+
+	//------------------[Constant declaration ends here]-----------------//
+
+
+
+	//---------------------[Constructors begin here]---------------------//
+
+	private StandardTableBenchmark () {
+
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//----------------------[Benchmarking begins here]-------------------//
+
+	public static void main (String[] args) throws IOException, InterruptedException {
+		//Time a single cold start when run as a child JVM
+		if (args.length == 1 && (args[0].equals(CONSTANTS) || args[0].equals(RESOURCE))) {
+			System.out.println(timeColdStart(args[0]));
+			return;
+		}
+
+		int    runs      = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUNS;
+		long[] constants = new long[runs];
+		long[] resource  = new long[runs];
+
+		//Alternate the paths, so that both see the same state of the machine
+		for (int i = 0; i < runs; i++) {
+			constants[i] = runChild(CONSTANTS);
+			resource [i] = runChild(RESOURCE);
+		}
+
+		report("StandardPeriodicTable.get()         ", constants);
+		report("StandardPeriodicTable.loadResource()", resource);
+	}
+
+	//-----------------------[Benchmarking ends here]--------------------//
+
+
+
+	//Helper function for main: create the table by one path, returning the time taken in nanoseconds
+	private static long timeColdStart (String path) {
+		long          start = System.nanoTime();
+		PeriodicTable table = path.equals(CONSTANTS) ?
+				StandardPeriodicTable.get() :
+				StandardPeriodicTable.loadResource();
+		long          end   = System.nanoTime();
+
+		//Keep the table in use, so that its creation is not optimized away
+		if (table.getNumElements() == 0) {
+			throw new IllegalStateException("The standard table is empty");
+		}
+
+		return end - start;
+	}
+
+	//Helper function for main: time one cold start of a path in a fresh JVM
+	private static long runChild (String path) throws IOException, InterruptedException {
+		Process child = new ProcessBuilder(
+				System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+				"-cp",
+				System.getProperty("java.class.path"),
+				StandardTableBenchmark.class.getName(),
+				path
+		).redirectErrorStream(true).start();
+
+		String output;
+
+		try (BufferedReader in =
+				new BufferedReader(new InputStreamReader(child.getInputStream(), StandardCharsets.UTF_8))) {
+
+			output = in.readLine();
+		}
+
+		//Check whether the child timed the path
+		if (child.waitFor() != 0 || output == null) {
+			throw new IllegalStateException("The " + path + " run failed: " + output);
+		}
+
+		return Long.parseLong(output.trim());
+	}
+
+	//Helper function for main: print the median and fastest times of a path
+	private static void report (String label, long[] times) {
+		long[] sorted = times.clone();
+		Arrays.sort(sorted);
+
+		System.out.printf(
+				"%s: median %.2f ms, fastest %.2f ms over %d runs%n",
+				label,
+				sorted[sorted.length / 2] / 1e6,
+				sorted[0] / 1e6,
+				sorted.length
+		);
+	}
+}
@@ -0,0 +1,64 @@
+package Molecularize.test.atomos;
+
+/*----------------------------------------------------------------------*\
+	This class checks that the standard table created from the
+	generated StandardTableData constants is the table parsed from
+	res/standard.ptbl, so that the generated class cannot drift from
+	the table file unnoticed. If it fails, regenerate StandardTableData
+	with StandardTableGenerator. Run it as a main class; it exits with
+	a non-zero status if a check fails.
+\*----------------------------------------------------------------------*/
+
+import Molecularize.atomos.Element;
+import Molecularize.atomos.PeriodicTable;
+import Molecularize.atomos.StandardPeriodicTable;
+
+public class StandardTableDataTest {
+
+	//---------------------[Constructors begin here]---------------------//
+
+	private StandardTableDataTest () {
+
+	}
+
+	//----------------------[Constructors end here]----------------------//
+
+
+
+	//-----------------------[Testing begins here]-----------------------//
+
+	public static void main (String[] args) {
+		PeriodicTable generated = StandardPeriodicTable.get();
+		PeriodicTable parsed    = StandardPeriodicTable.loadResource();
+
+		check(generated.getTableSize() == parsed.getTableSize(), "the table sizes differ");
+		check(generated.getNumElements() == parsed.getNumElements(), "the numbers of elements differ");
+
+		//Compare each element, so that a failure names the element that differs
+		for (int i = 1; i <= parsed.getTableSize(); i++) {
+			Element expected = parsed.getElement(i);
+			Element actual   = generated.getElement(i);
+
+			check(expected == null ? actual == null : actual != null &&
+					Element.serialize(expected).equals(Element.serialize(actual)),
+					"element " + i + " differs from the table file");
+		}
+
+		check(PeriodicTable.serialize(generated).equals(PeriodicTable.serialize(parsed)),
+				"the serialized tables differ");
+
+		System.out.println("StandardTableDataTest passed");
+	}
+
+	//------------------------[Testing ends here]------------------------//
+
+
+
+	//Helper function for testing: fail with a message unless a condition holds
+	private static void check (boolean condition, String message) {
+		if (!condition) {
+			System.err.println("StandardTableDataTest failed: " + message);
+			System.exit(1);
+		}
+	}
+}